@@ -5,10 +5,13 @@ import com.phoenixfitness.dto.LoginResponse;
 import com.phoenixfitness.dto.RegisterRequest;
 import com.phoenixfitness.dto.ApiResponse;
 import com.phoenixfitness.entity.User;
+import com.phoenixfitness.security.PasswordHashingRejectedException;
 import com.phoenixfitness.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -24,6 +27,9 @@ public class AuthController {
         try {
             String result = authService.register(request);
             return ResponseEntity.ok(new ApiResponse<>(true, result, null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -35,6 +41,23 @@ public class AuthController {
         try {
             LoginResponse response = authService.login(request);
             return ResponseEntity.ok(new ApiResponse<>(true, response, null));
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(Authentication authentication) {
+        try {
+            if (authentication == null) {
+                throw new RuntimeException("Not logged in");
+            }
+            String result = authService.logout(authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, result, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -1,8 +1,11 @@
 package com.phoenixfitness.controller;
 
 import com.phoenixfitness.dto.ApiResponse;
+import com.phoenixfitness.dto.BookingSummary;
+import com.phoenixfitness.dto.CursorPage;
 import com.phoenixfitness.entity.Booking;
 import com.phoenixfitness.service.BookingService;
+import com.phoenixfitness.service.SeatHoldService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,10 +24,10 @@ public class BookingController {
 
     @GetMapping("/user")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Booking>>> getUserBookings(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<BookingSummary>>> getUserBookings(Authentication authentication) {
         try {
             String userEmail = authentication.getName();
-            List<Booking> bookings = bookingService.getUserBookings(userEmail);
+            List<BookingSummary> bookings = bookingService.getUserBookings(userEmail);
             return ResponseEntity.ok(new ApiResponse<>(true, bookings, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -34,9 +37,15 @@ public class BookingController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<Booking>>> getAllBookings() {
+    public ResponseEntity<ApiResponse<List<BookingSummary>>> getAllBookings(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Booking> bookings = bookingService.getAllBookings();
+            if (limit != null || after != null) {
+                CursorPage<BookingSummary> page = bookingService.getBookingsPage(after, limit);
+                return ResponseEntity.ok(new ApiResponse<>(true, page.getItems(), null, page.getNextCursor()));
+            }
+            List<BookingSummary> bookings = bookingService.getAllBookings();
             return ResponseEntity.ok(new ApiResponse<>(true, bookings, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -44,6 +53,32 @@ public class BookingController {
         }
     }
 
+    @GetMapping("/{id}/waitlist-position")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> getWaitlistPosition(@PathVariable Long id,
+                                                                   Authentication authentication) {
+        try {
+            Integer position = bookingService.getWaitlistPosition(id, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, position, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/waitlist-offer")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<SeatHoldService.Hold>> getWaitlistOffer(@PathVariable Long id,
+                                                                             Authentication authentication) {
+        try {
+            SeatHoldService.Hold offer = bookingService.getWaitlistOffer(id, authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, offer, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Booking>> updateBookingStatus(@PathVariable Long id, 
@@ -0,0 +1,126 @@
+package com.phoenixfitness.controller;
+
+import com.phoenixfitness.dto.ApiResponse;
+import com.phoenixfitness.dto.CartItemRequest;
+import com.phoenixfitness.entity.CartItem;
+import com.phoenixfitness.entity.ShopOrder;
+import com.phoenixfitness.service.CartService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cart")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class CartController {
+
+    @Autowired
+    private CartService cartService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<CartItem>>> getCart(Authentication authentication) {
+        try {
+            List<CartItem> items = cartService.getCart(authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, items, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/items")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CartItem>> addItem(@Valid @RequestBody CartItemRequest request,
+                                                         Authentication authentication) {
+        try {
+            CartItem item = cartService.addItem(authentication.getName(), request);
+            return ResponseEntity.ok(new ApiResponse<>(true, item, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PutMapping("/items/{productId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CartItem>> updateItem(@PathVariable Long productId,
+                                                            @RequestParam Integer quantity,
+                                                            Authentication authentication) {
+        try {
+            CartItem item = cartService.updateItem(authentication.getName(), productId, quantity);
+            return ResponseEntity.ok(new ApiResponse<>(true, item, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/items/{productId}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<String>> removeItem(@PathVariable Long productId,
+                                                          Authentication authentication) {
+        try {
+            cartService.removeItem(authentication.getName(), productId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Item removed from cart", null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/checkout")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ShopOrder>> checkout(Authentication authentication) {
+        try {
+            ShopOrder order = cartService.checkout(authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, order, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/orders")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<ShopOrder>>> getOrders(Authentication authentication) {
+        try {
+            List<ShopOrder> orders = cartService.getUserOrders(authentication.getName());
+            return ResponseEntity.ok(new ApiResponse<>(true, orders, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/orders/{orderId}/pay")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ShopOrder>> payOrder(@PathVariable Long orderId,
+                                                           Authentication authentication) {
+        try {
+            ShopOrder order = cartService.payOrder(authentication.getName(), orderId);
+            return ResponseEntity.ok(new ApiResponse<>(true, order, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @PostMapping("/orders/{orderId}/cancel")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ShopOrder>> cancelOrder(@PathVariable Long orderId,
+                                                              Authentication authentication) {
+        try {
+            ShopOrder order = cartService.cancelOrder(authentication.getName(), orderId);
+            return ResponseEntity.ok(new ApiResponse<>(true, order, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+}
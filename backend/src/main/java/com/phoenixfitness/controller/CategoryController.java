@@ -2,7 +2,9 @@ package com.phoenixfitness.controller;
 
 import com.phoenixfitness.dto.ApiResponse;
 import com.phoenixfitness.dto.CategoryRequest;
+import com.phoenixfitness.dto.DeletionProgress;
 import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.service.CategoryRegistry;
 import com.phoenixfitness.service.CategoryService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,11 +22,15 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<Category>>> getAllCategories() {
         try {
-            List<Category> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(new ApiResponse<>(true, categories, null));
+            CategoryRegistry.Snapshot snapshot = categoryRegistry.snapshot();
+            return ResponseEntity.ok().eTag(etag(snapshot, "all"))
+                    .body(new ApiResponse<>(true, snapshot.getAll(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -34,8 +40,13 @@ public class CategoryController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Category>> getCategoryById(@PathVariable Long id) {
         try {
-            Category category = categoryService.getCategoryById(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, category, null));
+            CategoryRegistry.Snapshot snapshot = categoryRegistry.snapshot();
+            Category category = snapshot.get(id);
+            if (category == null) {
+                throw new RuntimeException("Category not found");
+            }
+            return ResponseEntity.ok().eTag(etag(snapshot, id.toString()))
+                    .body(new ApiResponse<>(true, category, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -69,13 +80,18 @@ public class CategoryController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<String>> deleteCategory(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DeletionProgress>> deleteCategory(@PathVariable Long id) {
         try {
-            categoryService.deleteCategory(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Category deleted successfully", null));
+            DeletionProgress progress = categoryService.deleteCategory(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, progress, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Served from the registry snapshot, whose version changes on every category write
+    private static String etag(CategoryRegistry.Snapshot snapshot, String key) {
+        return "\"categories-" + Long.toHexString(snapshot.getVersion()) + "-" + key + "\"";
+    }
+}
@@ -0,0 +1,44 @@
+package com.phoenixfitness.controller;
+
+import com.phoenixfitness.dto.ApiResponse;
+import com.phoenixfitness.dto.DeletionProgress;
+import com.phoenixfitness.service.BulkDeleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/deletions")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class DeletionController {
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<DeletionProgress>>> getRecentJobs() {
+        try {
+            List<DeletionProgress> jobs = bulkDeleteService.getRecentJobs();
+            return ResponseEntity.ok(new ApiResponse<>(true, jobs, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<DeletionProgress>> getProgress(@PathVariable String jobId) {
+        try {
+            DeletionProgress progress = bulkDeleteService.getProgress(jobId);
+            return ResponseEntity.ok(new ApiResponse<>(true, progress, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+}
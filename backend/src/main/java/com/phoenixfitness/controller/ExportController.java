@@ -0,0 +1,48 @@
+package com.phoenixfitness.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixfitness.dto.ApiResponse;
+import com.phoenixfitness.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // dataset: products, bookings or users; format: ndjson (default) or csv
+    @GetMapping("/{dataset}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+                                                       @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            ExportService.Dataset selected = ExportService.parseDataset(dataset);
+            ExportService.Format selectedFormat = ExportService.parseFormat(format);
+            boolean csv = selectedFormat == ExportService.Format.CSV;
+            StreamingResponseBody body = out -> exportService.export(selected, selectedFormat, out);
+            return ResponseEntity.ok()
+                    .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + dataset.toLowerCase()
+                            + (csv ? ".csv" : ".ndjson") + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            // The return type is fixed to a streaming body, so the usual error envelope is written by hand
+            ApiResponse<Object> error = new ApiResponse<>(false, null, e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.phoenixfitness.controller;
 
 import com.phoenixfitness.dto.ApiResponse;
+import com.phoenixfitness.dto.CursorPage;
+import com.phoenixfitness.dto.ProductFacetResult;
+import com.phoenixfitness.dto.ProductImportResult;
 import com.phoenixfitness.dto.ProductRequest;
+import com.phoenixfitness.dto.ProductSummary;
+import com.phoenixfitness.dto.Suggestion;
 import com.phoenixfitness.entity.Product;
+import com.phoenixfitness.service.CatalogCache;
+import com.phoenixfitness.service.ProductImportService;
 import com.phoenixfitness.service.ProductService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -20,13 +29,78 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private ProductImportService productImportService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Product>>> getAllProducts(
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getAllProducts(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) Long category,
-            @RequestParam(defaultValue = "name") String sortBy) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            // Keyset pagination (id order) applies to plain and category listings
+            if ((limit != null || after != null) && (search == null || search.isBlank())) {
+                CatalogCache.Entry<CursorPage<ProductSummary>> page = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                    "page|" + category + "|" + after + "|" + limit,
+                    () -> productService.getProductsPage(category, after, limit));
+                return ResponseEntity.ok().eTag(page.getEtag()).body(new ApiResponse<>(
+                    true, page.getValue().getItems(), null, page.getValue().getNextCursor()));
+            }
+            // Search matches come back a page at a time, relevance first unless sortBy is given
+            if (search != null && !search.isBlank()) {
+                CatalogCache.Entry<CursorPage<ProductSummary>> page = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                    "search|" + search + "|" + category + "|" + sortBy + "|" + after + "|" + limit,
+                    () -> productService.searchProducts(search, category, sortBy, after, limit));
+                return ResponseEntity.ok().eTag(page.getEtag()).body(new ApiResponse<>(
+                    true, page.getValue().getItems(), null, page.getValue().getNextCursor()));
+            }
+            CatalogCache.Entry<List<ProductSummary>> products = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                "list|" + category + "|" + sortBy,
+                () -> productService.getAllProducts(category, sortBy));
+            return ResponseEntity.ok().eTag(products.getEtag())
+                    .body(new ApiResponse<>(true, products.getValue(), null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<ProductFacetResult>> getProductFacets(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) Long category,
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CatalogCache.Entry<ProductFacetResult> result = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                "facets|" + search + "|" + category + "|" + brand + "|" + minPrice + "|" + maxPrice + "|"
+                    + minRating + "|" + inStock + "|" + limit,
+                () -> productService.getProductFacets(search, category, brand, minPrice, maxPrice, minRating, inStock, limit));
+            return ResponseEntity.ok().eTag(result.getEtag())
+                    .body(new ApiResponse<>(true, result.getValue(), null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    // board: top-rated, most-discounted, newest or in-stock (the last needs a category)
+    @GetMapping("/top")
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getLeaderboard(
+            @RequestParam(defaultValue = "top-rated") String board,
+            @RequestParam(required = false) Long category,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Product> products = productService.getAllProducts(search, category, sortBy);
+            List<ProductSummary> products = productService.getLeaderboard(board, category, limit);
             return ResponseEntity.ok(new ApiResponse<>(true, products, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -34,11 +108,26 @@ public class ProductController {
         }
     }
 
+    // Typeahead for the search box; served from the in-memory trie, so it is not cached here
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<Suggestion>>> suggest(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer limit) {
+        try {
+            List<Suggestion> suggestions = productService.suggest(q, limit);
+            return ResponseEntity.ok(new ApiResponse<>(true, suggestions, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Product>> getProductById(@PathVariable Long id) {
         try {
-            Product product = productService.getProductById(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, product, null));
+            CatalogCache.Entry<Product> product = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                "id|" + id, () -> productService.getProductById(id));
+            return ResponseEntity.ok().eTag(product.getEtag())
+                    .body(new ApiResponse<>(true, product.getValue(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -46,10 +135,12 @@ public class ProductController {
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsByCategory(@PathVariable Long categoryId) {
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getProductsByCategory(@PathVariable Long categoryId) {
         try {
-            List<Product> products = productService.getProductsByCategory(categoryId);
-            return ResponseEntity.ok(new ApiResponse<>(true, products, null));
+            CatalogCache.Entry<List<ProductSummary>> products = catalogCache.get(CatalogCache.Region.PRODUCTS,
+                "category|" + categoryId, () -> productService.getProductsByCategory(categoryId));
+            return ResponseEntity.ok().eTag(products.getEtag())
+                    .body(new ApiResponse<>(true, products.getValue(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -92,4 +183,19 @@ public class ProductController {
                     .body(new ApiResponse<>(false, null, e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Body is streamed straight from the request: text/csv with a header row, or one JSON product per line
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/json"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<ProductImportResult>> importProducts(HttpServletRequest request) {
+        try {
+            ProductImportResult result = request.getContentType().startsWith("text/csv")
+                    ? productImportService.importCsv(request.getInputStream())
+                    : productImportService.importJsonLines(request.getInputStream());
+            return ResponseEntity.ok(new ApiResponse<>(true, result, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+}
@@ -2,17 +2,32 @@ package com.phoenixfitness.controller;
 
 import com.phoenixfitness.dto.ApiResponse;
 import com.phoenixfitness.dto.BookingRequest;
+import com.phoenixfitness.dto.CursorPage;
+import com.phoenixfitness.dto.DeletionProgress;
 import com.phoenixfitness.dto.SessionRequest;
+import com.phoenixfitness.dto.SessionSeriesRequest;
+import com.phoenixfitness.dto.SessionSeriesUpdateRequest;
 import com.phoenixfitness.entity.Booking;
 import com.phoenixfitness.entity.Session;
+import com.phoenixfitness.search.SessionCalendarIndex;
+import com.phoenixfitness.service.CatalogCache;
+import com.phoenixfitness.service.SessionAvailabilityStream;
+import com.phoenixfitness.service.SessionSeriesService;
 import com.phoenixfitness.service.SessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,11 +38,37 @@ public class SessionController {
     @Autowired
     private SessionService sessionService;
 
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SessionCalendarIndex sessionCalendarIndex;
+
+    @Autowired
+    private SessionAvailabilityStream sessionAvailabilityStream;
+
+    @Autowired
+    private SessionSeriesService sessionSeriesService;
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Session>>> getAllSessions() {
+    public ResponseEntity<ApiResponse<List<Session>>> getAllSessions(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Session> sessions = sessionService.getAllSessions();
-            return ResponseEntity.ok(new ApiResponse<>(true, sessions, null));
+            if (search != null && !search.isBlank()) {
+                return ResponseEntity.ok(new ApiResponse<>(true, sessionService.searchSessions(search), null));
+            }
+            if (limit != null || after != null) {
+                CatalogCache.Entry<CursorPage<Session>> page = catalogCache.get(CatalogCache.Region.SESSIONS,
+                    "page|" + after + "|" + limit, () -> sessionService.getSessionsPage(after, limit));
+                return ResponseEntity.ok().eTag(page.getEtag()).body(new ApiResponse<>(
+                    true, page.getValue().getItems(), null, page.getValue().getNextCursor()));
+            }
+            CatalogCache.Entry<List<Session>> sessions = catalogCache.get(CatalogCache.Region.SESSIONS,
+                "all", sessionService::getAllSessions);
+            return ResponseEntity.ok().eTag(sessions.getEtag())
+                    .body(new ApiResponse<>(true, sessions.getValue(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -37,8 +78,10 @@ public class SessionController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Session>> getSessionById(@PathVariable Long id) {
         try {
-            Session session = sessionService.getSessionById(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, session, null));
+            CatalogCache.Entry<Session> session = catalogCache.get(CatalogCache.Region.SESSIONS,
+                "id|" + id, () -> sessionService.getSessionById(id));
+            return ResponseEntity.ok().eTag(session.getEtag())
+                    .body(new ApiResponse<>(true, session.getValue(), null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
@@ -56,6 +99,33 @@ public class SessionController {
         }
     }
 
+    // Week and month views; the ETag follows the calendar index version
+    @GetMapping("/calendar")
+    public ResponseEntity<ApiResponse<List<Session>>> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            long version = sessionCalendarIndex.getVersion();
+            List<Session> sessions = sessionService.getCalendar(from, to);
+            String etag = "\"calendar-" + Long.toHexString(version) + "-"
+                    + Integer.toHexString((from + "|" + to).hashCode()) + "\"";
+            return ResponseEntity.ok().eTag(etag).body(new ApiResponse<>(true, sessions, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    // Live seat counts for the schedule page: "seats" events carry the changed sessions
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamAvailability(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            sessionAvailabilityStream.subscribe(request, response);
+        } catch (RuntimeException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+
     @PostMapping("/{id}/book")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Booking>> bookSession(@PathVariable Long id, 
@@ -83,6 +153,32 @@ public class SessionController {
         }
     }
 
+    @PostMapping("/series")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<List<Session>>> createSeries(@Valid @RequestBody SessionSeriesRequest request) {
+        try {
+            List<Session> sessions = sessionSeriesService.createSeries(request);
+            return ResponseEntity.ok(new ApiResponse<>(true, sessions, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
+    // Applies to the occurrences that have not started yet; returns how many were changed
+    @PutMapping("/series/{seriesId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Integer>> updateSeries(@PathVariable String seriesId,
+                                                             @Valid @RequestBody SessionSeriesUpdateRequest request) {
+        try {
+            int updated = sessionSeriesService.updateSeries(seriesId, request);
+            return ResponseEntity.ok(new ApiResponse<>(true, updated, null));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new ApiResponse<>(false, null, e.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<Session>> updateSession(@PathVariable Long id, 
@@ -98,10 +194,10 @@ public class SessionController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<String>> deleteSession(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<DeletionProgress>> deleteSession(@PathVariable Long id) {
         try {
-            sessionService.deleteSession(id);
-            return ResponseEntity.ok(new ApiResponse<>(true, "Session deleted successfully", null));
+            DeletionProgress progress = sessionService.deleteSession(id);
+            return ResponseEntity.ok(new ApiResponse<>(true, progress, null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new ApiResponse<>(false, null, e.getMessage()));
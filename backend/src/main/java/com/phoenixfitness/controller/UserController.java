@@ -1,15 +1,21 @@
 package com.phoenixfitness.controller;
 
+import com.phoenixfitness.dto.CursorPage;
 import com.phoenixfitness.entity.User;
 import com.phoenixfitness.repository.UserRepository;
+import com.phoenixfitness.security.PasswordHashingExecutor;
+import com.phoenixfitness.service.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,10 +24,42 @@ public class UserController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<User>> getAllUsers(@RequestParam(required = false) String after,
+                                                  @RequestParam(required = false) Integer limit) {
+        if (limit != null || after != null) {
+            // This endpoint returns a bare list, so the next cursor travels in a header
+            int pageSize = CursorPage.clampLimit(limit);
+            Long afterId = after == null ? 0L : CursorPage.decodeId(after);
+            CursorPage<User> page = CursorPage.of(
+                userRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1)),
+                pageSize, user -> user.getId().toString());
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header("X-Next-Cursor", page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        }
         List<User> users = userRepository.findAll();
         return ResponseEntity.ok(users);
     }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/auth-cache")
+    public ResponseEntity<Map<String, Object>> getAuthCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHashingExecutor.getStats());
+    }
 }
@@ -1,9 +1,13 @@
 package com.phoenixfitness.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class ApiResponse<T> {
     private boolean success;
     private T data;
     private String message;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     public ApiResponse() {}
 
@@ -13,6 +17,11 @@ public class ApiResponse<T> {
         this.message = message;
     }
 
+    public ApiResponse(boolean success, T data, String message, String nextCursor) {
+        this(success, data, message);
+        this.nextCursor = nextCursor;
+    }
+
     // Getters and Setters
     public boolean isSuccess() {
         return success;
@@ -37,4 +46,12 @@ public class ApiResponse<T> {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
\ No newline at end of file
@@ -6,6 +6,9 @@ public class BookingRequest {
     private String paymentId;
     private String orderId;
     private String paymentMethod;
+    
+    // Opt in to the session's waitlist when it is full; without it a full session is an error
+    private boolean joinWaitlist;
 
     // Constructors
     public BookingRequest() {}
@@ -49,4 +52,12 @@ public class BookingRequest {
     public void setPaymentMethod(String paymentMethod) {
         this.paymentMethod = paymentMethod;
     }
-}
\ No newline at end of file
+
+    public boolean isJoinWaitlist() {
+        return joinWaitlist;
+    }
+
+    public void setJoinWaitlist(boolean joinWaitlist) {
+        this.joinWaitlist = joinWaitlist;
+    }
+}
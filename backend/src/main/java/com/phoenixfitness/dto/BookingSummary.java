@@ -0,0 +1,162 @@
+package com.phoenixfitness.dto;
+
+import com.phoenixfitness.entity.Booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// List view of a booking: keeps the nested user/session shape the booking tables read,
+// but only with the columns they render instead of both full eager entities
+public class BookingSummary {
+    private Long id;
+    private BigDecimal amount;
+    private Booking.BookingStatus status;
+    private String meetLink;
+    private LocalDateTime createdAt;
+    private UserRef user;
+    private SessionRef session;
+
+    public BookingSummary() {}
+
+    // Used by the JPQL constructor expressions in BookingRepository
+    public BookingSummary(Long id, BigDecimal amount, Booking.BookingStatus status, String meetLink,
+                          LocalDateTime createdAt, Long userId, String userName, String userEmail,
+                          Long sessionId, String sessionTitle, String instructorName,
+                          LocalDateTime scheduledDate, Integer duration, String sessionImageUrl) {
+        this.id = id;
+        this.amount = amount;
+        this.status = status;
+        this.meetLink = meetLink;
+        this.createdAt = createdAt;
+        this.user = new UserRef(userId, userName, userEmail);
+        this.session = new SessionRef(sessionId, sessionTitle, instructorName, scheduledDate, duration, sessionImageUrl);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Booking.BookingStatus status) {
+        this.status = status;
+    }
+
+    public String getMeetLink() {
+        return meetLink;
+    }
+
+    public void setMeetLink(String meetLink) {
+        this.meetLink = meetLink;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public UserRef getUser() {
+        return user;
+    }
+
+    public void setUser(UserRef user) {
+        this.user = user;
+    }
+
+    public SessionRef getSession() {
+        return session;
+    }
+
+    public void setSession(SessionRef session) {
+        this.session = session;
+    }
+
+    public static class UserRef {
+        private Long id;
+        private String name;
+        private String email;
+
+        public UserRef() {}
+
+        public UserRef(Long id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+
+    public static class SessionRef {
+        private Long id;
+        private String title;
+        private String instructorName;
+        private LocalDateTime scheduledDate;
+        private Integer duration;
+        private String imageUrl;
+
+        public SessionRef() {}
+
+        public SessionRef(Long id, String title, String instructorName, LocalDateTime scheduledDate,
+                          Integer duration, String imageUrl) {
+            this.id = id;
+            this.title = title;
+            this.instructorName = instructorName;
+            this.scheduledDate = scheduledDate;
+            this.duration = duration;
+            this.imageUrl = imageUrl;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getInstructorName() {
+            return instructorName;
+        }
+
+        public LocalDateTime getScheduledDate() {
+            return scheduledDate;
+        }
+
+        public Integer getDuration() {
+            return duration;
+        }
+
+        public String getImageUrl() {
+            return imageUrl;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.phoenixfitness.dto;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Live status of a bulk delete; the purge thread updates it while admins poll it
+public class DeletionProgress {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final String target;
+    private final Long targetId;
+    private final String mode;
+    private final long total;
+    private final AtomicLong deleted = new AtomicLong();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile Status status = Status.RUNNING;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    public DeletionProgress(String jobId, String target, Long targetId, String mode, long total) {
+        this.jobId = jobId;
+        this.target = target;
+        this.targetId = targetId;
+        this.mode = mode;
+        this.total = total;
+    }
+
+    public void advance(long rows) {
+        deleted.addAndGet(rows);
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
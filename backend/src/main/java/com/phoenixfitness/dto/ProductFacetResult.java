@@ -0,0 +1,64 @@
+package com.phoenixfitness.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class ProductFacetResult {
+    private int total;
+    private List<ProductSummary> products;
+    private Map<Long, Integer> categories;
+    private Map<String, Integer> brands;
+    private Map<String, Integer> priceRanges;
+
+    public ProductFacetResult() {}
+
+    public ProductFacetResult(int total, List<ProductSummary> products, Map<Long, Integer> categories,
+                              Map<String, Integer> brands, Map<String, Integer> priceRanges) {
+        this.total = total;
+        this.products = products;
+        this.categories = categories;
+        this.brands = brands;
+        this.priceRanges = priceRanges;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public List<ProductSummary> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductSummary> products) {
+        this.products = products;
+    }
+
+    public Map<Long, Integer> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(Map<Long, Integer> categories) {
+        this.categories = categories;
+    }
+
+    public Map<String, Integer> getBrands() {
+        return brands;
+    }
+
+    public void setBrands(Map<String, Integer> brands) {
+        this.brands = brands;
+    }
+
+    public Map<String, Integer> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(Map<String, Integer> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+}
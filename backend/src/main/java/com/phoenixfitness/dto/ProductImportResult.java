@@ -0,0 +1,99 @@
+package com.phoenixfitness.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductImportResult {
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+    private List<BatchError> batchErrors = new ArrayList<>();
+
+    public ProductImportResult() {}
+
+    // Getters and Setters
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public List<BatchError> getBatchErrors() {
+        return batchErrors;
+    }
+
+    public void setBatchErrors(List<BatchError> batchErrors) {
+        this.batchErrors = batchErrors;
+    }
+
+    public static class RowError {
+        private long line;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // A batch the database rejected; none of its rows were imported
+    public static class BatchError {
+        private long fromLine;
+        private long toLine;
+        private int rows;
+        private String message;
+
+        public BatchError() {}
+
+        public BatchError(long fromLine, long toLine, int rows, String message) {
+            this.fromLine = fromLine;
+            this.toLine = toLine;
+            this.rows = rows;
+            this.message = message;
+        }
+
+        public long getFromLine() {
+            return fromLine;
+        }
+
+        public long getToLine() {
+            return toLine;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -23,6 +23,9 @@ public class ProductRequest {
     
     private Integer stock;
     
+    // Stock the editor was showing; a stock change only applies if the row still holds it
+    private Integer expectedStock;
+    
     private String imageUrl;
     
     private String brand;
@@ -84,6 +87,14 @@ public class ProductRequest {
         this.stock = stock;
     }
 
+    public Integer getExpectedStock() {
+        return expectedStock;
+    }
+
+    public void setExpectedStock(Integer expectedStock) {
+        this.expectedStock = expectedStock;
+    }
+
     public String getImageUrl() {
         return imageUrl;
     }
@@ -0,0 +1,146 @@
+package com.phoenixfitness.dto;
+
+import com.phoenixfitness.entity.Product;
+
+import java.math.BigDecimal;
+
+// Card-sized view of a product for list endpoints: no description or other detail-page columns
+public class ProductSummary {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private BigDecimal originalPrice;
+    private String imageUrl;
+    private String brand;
+    private Double rating;
+    private Integer reviewCount;
+    private Integer discount;
+    private Integer stock;
+    private Long categoryId;
+    private String categoryName;
+
+    public ProductSummary() {}
+
+    // Used by the JPQL constructor expressions in ProductRepository
+    public ProductSummary(Long id, String name, BigDecimal price, BigDecimal originalPrice, String imageUrl,
+                          String brand, Double rating, Integer reviewCount, Integer discount, Integer stock,
+                          Long categoryId, String categoryName) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.imageUrl = imageUrl;
+        this.brand = brand;
+        this.rating = rating;
+        this.reviewCount = reviewCount;
+        this.discount = discount;
+        this.stock = stock;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    public static ProductSummary from(Product product) {
+        return new ProductSummary(product.getId(), product.getName(), product.getPrice(), product.getOriginalPrice(),
+            product.getImageUrl(), product.getBrand(), product.getRating(), product.getReviewCount(),
+            product.getDiscount(), product.getStock(),
+            product.getCategory() != null ? product.getCategory().getId() : null,
+            product.getCategory() != null ? product.getCategory().getName() : null);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigDecimal getOriginalPrice() {
+        return originalPrice;
+    }
+
+    public void setOriginalPrice(BigDecimal originalPrice) {
+        this.originalPrice = originalPrice;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public Double getRating() {
+        return rating;
+    }
+
+    public void setRating(Double rating) {
+        this.rating = rating;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public void setReviewCount(Integer reviewCount) {
+        this.reviewCount = reviewCount;
+    }
+
+    public Integer getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(Integer discount) {
+        this.discount = discount;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+}
@@ -0,0 +1,50 @@
+package com.phoenixfitness.dto;
+
+public class SeatDelta {
+    private Long sessionId;
+    private Integer currentParticipants;
+    private Integer maxParticipants;
+    private Integer seatsLeft;
+
+    public SeatDelta() {}
+
+    public SeatDelta(Long sessionId, Integer currentParticipants, Integer maxParticipants) {
+        this.sessionId = sessionId;
+        this.currentParticipants = currentParticipants;
+        this.maxParticipants = maxParticipants;
+        this.seatsLeft = Math.max(maxParticipants - currentParticipants, 0);
+    }
+
+    // Getters and Setters
+    public Long getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(Long sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getCurrentParticipants() {
+        return currentParticipants;
+    }
+
+    public void setCurrentParticipants(Integer currentParticipants) {
+        this.currentParticipants = currentParticipants;
+    }
+
+    public Integer getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public void setMaxParticipants(Integer maxParticipants) {
+        this.maxParticipants = maxParticipants;
+    }
+
+    public Integer getSeatsLeft() {
+        return seatsLeft;
+    }
+
+    public void setSeatsLeft(Integer seatsLeft) {
+        this.seatsLeft = seatsLeft;
+    }
+}
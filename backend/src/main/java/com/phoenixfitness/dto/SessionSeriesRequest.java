@@ -0,0 +1,74 @@
+package com.phoenixfitness.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+// A recurring class: the inherited scheduledDate is the first occurrence, the rest follows RRULE's
+// FREQ / INTERVAL / BYDAY / COUNT / UNTIL parts
+public class SessionSeriesRequest extends SessionRequest {
+    
+    public enum Frequency { DAILY, WEEKLY }
+    
+    @NotNull(message = "Frequency is required")
+    private Frequency frequency;
+    
+    @Positive(message = "Interval must be positive")
+    private Integer interval = 1;
+    
+    // WEEKLY only; defaults to the weekday of the first occurrence
+    private List<DayOfWeek> byDay;
+    
+    @Positive(message = "Count must be positive")
+    private Integer count;
+    
+    // Last day an occurrence may fall on, inclusive
+    private LocalDate until;
+
+    // Constructors
+    public SessionSeriesRequest() {}
+
+    // Getters and Setters
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(Frequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+
+    public List<DayOfWeek> getByDay() {
+        return byDay;
+    }
+
+    public void setByDay(List<DayOfWeek> byDay) {
+        this.byDay = byDay;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    public void setUntil(LocalDate until) {
+        this.until = until;
+    }
+}
@@ -0,0 +1,99 @@
+package com.phoenixfitness.dto;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+// Changes applied to every future occurrence of a series; null fields are left as they are
+public class SessionSeriesUpdateRequest {
+    
+    @Size(min = 2, max = 200, message = "Session title must be between 2 and 200 characters")
+    private String title;
+    
+    private String description;
+    
+    @Size(min = 1, message = "Instructor name cannot be blank")
+    private String instructorName;
+    
+    @Positive(message = "Duration must be positive")
+    private Integer duration;
+    
+    @Positive(message = "Max participants must be positive")
+    private Integer maxParticipants;
+    
+    @Positive(message = "Price must be positive")
+    private BigDecimal price;
+    
+    private String imageUrl;
+    
+    private String meetLink;
+
+    // Constructors
+    public SessionSeriesUpdateRequest() {}
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getInstructorName() {
+        return instructorName;
+    }
+
+    public void setInstructorName(String instructorName) {
+        this.instructorName = instructorName;
+    }
+
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    public Integer getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public void setMaxParticipants(Integer maxParticipants) {
+        this.maxParticipants = maxParticipants;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getMeetLink() {
+        return meetLink;
+    }
+
+    public void setMeetLink(String meetLink) {
+        this.meetLink = meetLink;
+    }
+}
@@ -0,0 +1,40 @@
+package com.phoenixfitness.dto;
+
+public class Suggestion {
+    private String type;
+    private Long id;
+    private String text;
+
+    public Suggestion() {}
+
+    public Suggestion(String type, Long id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
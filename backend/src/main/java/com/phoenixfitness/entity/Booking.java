@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -32,8 +34,10 @@ public class Booking {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal amount;
     
+    // VARCHAR rather than a native ENUM, so new statuses need no column change
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 20)
     private BookingStatus status = BookingStatus.PENDING;
     
     @Column(columnDefinition = "TEXT")
@@ -59,6 +63,10 @@ public class Booking {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // 1-based place in the session's waitlist, filled in for WAITLISTED bookings as they are returned
+    @Transient
+    private Integer waitlistPosition;
+    
     // Constructors
     public Booking() {}
     
@@ -165,7 +173,20 @@ public class Booking {
         this.updatedAt = updatedAt;
     }
     
+    public Integer getWaitlistPosition() {
+        return waitlistPosition;
+    }
+    
+    public void setWaitlistPosition(Integer waitlistPosition) {
+        this.waitlistPosition = waitlistPosition;
+    }
+    
     public enum BookingStatus {
-        PENDING, CONFIRMED, COMPLETED, CANCELLED
+        PENDING, CONFIRMED, COMPLETED, CANCELLED, WAITLISTED;
+        
+        // Statuses that occupy one of the session's seats
+        public boolean holdsSeat() {
+            return this == PENDING || this == CONFIRMED || this == COMPLETED;
+        }
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +13,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "categories")
+@SQLRestriction("deleted = false")
 public class Category {
     
     @Id
@@ -37,8 +39,13 @@ public class Category {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Rows are hidden here first and purged by BulkDeleteService (or kept, in soft-delete mode)
     @JsonIgnore
-    @OneToMany(mappedBy = "category", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean deleted;
+    
+    @JsonIgnore
+    @OneToMany(mappedBy = "category", fetch = FetchType.LAZY)
     private List<Product> products;
     
     // Constructors
@@ -98,6 +105,14 @@ public class Category {
         this.updatedAt = updatedAt;
     }
     
+    public boolean isDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+    
     public List<Product> getProducts() {
         return products;
     }
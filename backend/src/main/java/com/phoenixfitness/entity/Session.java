@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -14,7 +15,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = @Index(columnList = "series_id"))
+@SQLRestriction("deleted = false")
 public class Session {
     
     @Id
@@ -58,7 +60,12 @@ public class Session {
     @Column(name = "meet_link")
     private String meetLink;
     
-    @Column(name = "current_participants")
+    // Shared by every occurrence generated from one recurrence; null for one-off sessions
+    @Column(name = "series_id", length = 36)
+    private String seriesId;
+    
+    // Written only by the guarded seat UPDATEs in SessionRepository, never by an entity save
+    @Column(name = "current_participants", updatable = false)
     private Integer currentParticipants = 0;
     
     @Enumerated(EnumType.STRING)
@@ -74,7 +81,11 @@ public class Session {
     private LocalDateTime updatedAt;
     
     @JsonIgnore
-    @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean deleted;
+    
+    @JsonIgnore
+    @OneToMany(mappedBy = "session", fetch = FetchType.LAZY)
     private List<Booking> bookings;
     
     // Constructors
@@ -171,6 +182,14 @@ public class Session {
         this.meetLink = meetLink;
     }
     
+    public String getSeriesId() {
+        return seriesId;
+    }
+    
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+    
     public Integer getCurrentParticipants() {
         return currentParticipants;
     }
@@ -203,6 +222,14 @@ public class Session {
         this.updatedAt = updatedAt;
     }
     
+    public boolean isDeleted() {
+        return deleted;
+    }
+    
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+    
     public List<Booking> getBookings() {
         return bookings;
     }
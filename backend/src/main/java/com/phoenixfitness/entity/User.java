@@ -5,6 +5,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.phoenixfitness.service.UserCacheEvictionListener;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -14,6 +15,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheEvictionListener.class)
 public class User {
     
     @Id
@@ -43,6 +45,11 @@ public class User {
     @Column(nullable = false)
     private Role role = Role.USER;
     
+    // Role as loaded, so a role change can revoke tokens that still carry the old one
+    @Transient
+    @JsonIgnore
+    private Role loadedRole;
+    
     @Column
     private String address;
     
@@ -67,6 +74,14 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings;
     
+    @JsonIgnore
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<CartItem> cartItems;
+    
+    @JsonIgnore
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<ShopOrder> orders;
+    
     // Constructors
     public User() {}
     
@@ -126,6 +141,14 @@ public class User {
         this.role = role;
     }
     
+    public Role getLoadedRole() {
+        return loadedRole;
+    }
+    
+    public void setLoadedRole(Role loadedRole) {
+        this.loadedRole = loadedRole;
+    }
+    
     public String getAddress() {
         return address;
     }
@@ -182,6 +205,22 @@ public class User {
         this.bookings = bookings;
     }
     
+    public List<CartItem> getCartItems() {
+        return cartItems;
+    }
+    
+    public void setCartItems(List<CartItem> cartItems) {
+        this.cartItems = cartItems;
+    }
+    
+    public List<ShopOrder> getOrders() {
+        return orders;
+    }
+    
+    public void setOrders(List<ShopOrder> orders) {
+        this.orders = orders;
+    }
+    
     public enum Role {
         USER, ADMIN
     }
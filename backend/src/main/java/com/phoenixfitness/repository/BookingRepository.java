@@ -1,20 +1,33 @@
 package com.phoenixfitness.repository;
 
+import com.phoenixfitness.dto.BookingSummary;
 import com.phoenixfitness.entity.Booking;
 import com.phoenixfitness.entity.User;
 import com.phoenixfitness.entity.Session;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     
+    // List views read the few user/session columns they show instead of both eager entities
+    String SUMMARY_SELECT = "SELECT new com.phoenixfitness.dto.BookingSummary(b.id, b.amount, b.status, " +
+           "b.meetLink, b.createdAt, u.id, u.name, u.email, s.id, s.title, s.instructorName, s.scheduledDate, " +
+           "s.duration, s.imageUrl) FROM Booking b JOIN b.user u JOIN b.session s ";
+    
     List<Booking> findByUser(User user);
     
     List<Booking> findByUserId(Long userId);
@@ -41,4 +54,38 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     @Query("SELECT b FROM Booking b WHERE b.orderId = :orderId")
     Optional<Booking> findByOrderId(@Param("orderId") String orderId);
-}
\ No newline at end of file
+    
+    @Query(SUMMARY_SELECT + "WHERE u.email = :email ORDER BY b.createdAt DESC")
+    List<BookingSummary> findUserBookingSummaries(@Param("email") String email);
+    
+    @Query(SUMMARY_SELECT + "ORDER BY b.id DESC")
+    List<BookingSummary> findAllSummaries();
+    
+    // Newest first: the cursor is the smallest id seen so far
+    @Query(SUMMARY_SELECT + "WHERE b.id < :id ORDER BY b.id DESC")
+    List<BookingSummary> findSummaryPage(@Param("id") Long id, Limit limit);
+    
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "ORDER BY b.id ASC")
+    Stream<BookingSummary> streamSummaries();
+    
+    // Rebuilds the in-memory waitlists: [sessionId, bookingId] in queue order
+    @Query("SELECT b.session.id, b.id FROM Booking b WHERE b.status = 'WAITLISTED' ORDER BY b.id ASC")
+    List<Object[]> findWaitlistedIds();
+    
+    long countBySessionId(Long sessionId);
+    
+    @Modifying
+    @Query(value = "UPDATE bookings SET status = 'CANCELLED' WHERE session_id = :sessionId " +
+           "AND status IN ('PENDING', 'CONFIRMED', 'WAITLISTED')", nativeQuery = true)
+    int cancelOpenBySessionId(@Param("sessionId") Long sessionId);
+    
+    @Query(value = "SELECT id FROM bookings WHERE session_id = :sessionId AND id > :afterId ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findIdsBySessionIdAfter(@Param("sessionId") Long sessionId, @Param("afterId") Long afterId,
+                                       @Param("limit") int limit);
+    
+    @Modifying
+    @Query(value = "DELETE FROM bookings WHERE id IN (:ids)", nativeQuery = true)
+    int purgeByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,37 @@
+package com.phoenixfitness.repository;
+
+import com.phoenixfitness.entity.CartItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItem, Long> {
+    
+    List<CartItem> findByUserEmailOrderByProductIdAsc(String email);
+    
+    Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
+    
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.product.id = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+    
+    @Modifying
+    @Query("DELETE FROM CartItem c WHERE c.product.id IN :productIds")
+    int deleteByProductIdIn(@Param("productIds") Collection<Long> productIds);
+    
+    @Modifying
+    @Query(value = "DELETE FROM cart_items WHERE product_id IN (SELECT id FROM products WHERE category_id = :categoryId)",
+           nativeQuery = true)
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -2,6 +2,9 @@ package com.phoenixfitness.repository;
 
 import com.phoenixfitness.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,17 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsByName(String name);
     
     List<Category> findByNameContainingIgnoreCase(String name);
-}
\ No newline at end of file
+    
+    // Soft delete also frees the unique name, so the category can be recreated straight away
+    @Modifying
+    @Query(value = "UPDATE categories SET deleted = true, name = CONCAT(name, ' [deleted ', id, ']') " +
+           "WHERE id = :id AND deleted = false", nativeQuery = true)
+    int softDelete(@Param("id") Long id);
+    
+    @Modifying
+    @Query(value = "DELETE FROM categories WHERE id = :id", nativeQuery = true)
+    int purge(@Param("id") Long id);
+    
+    @Query(value = "SELECT id FROM categories WHERE deleted = true", nativeQuery = true)
+    List<Long> findSoftDeletedIds();
+}
@@ -1,18 +1,31 @@
 package com.phoenixfitness.repository;
 
+import com.phoenixfitness.dto.ProductSummary;
 import com.phoenixfitness.entity.Product;
 import com.phoenixfitness.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // List views select only the card columns (no description TEXT) and flatten the category
+    String SUMMARY_SELECT = "SELECT new com.phoenixfitness.dto.ProductSummary(p.id, p.name, p.price, " +
+           "p.originalPrice, p.imageUrl, p.brand, p.rating, p.reviewCount, p.discount, p.stock, c.id, c.name) " +
+           "FROM Product p LEFT JOIN p.category c ";
+    
     List<Product> findByCategory(Category category);
     
     List<Product> findByCategoryId(Long categoryId);
@@ -41,4 +54,60 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query("SELECT p FROM Product p ORDER BY p.rating DESC")
     List<Product> findTopRatedProducts();
-}
\ No newline at end of file
+    
+    @Query(SUMMARY_SELECT +
+           "WHERE (:categoryId IS NULL OR c.id = :categoryId) " +
+           "ORDER BY " +
+           "CASE WHEN :sortBy = 'name' THEN p.name END ASC, " +
+           "CASE WHEN :sortBy = 'price' THEN p.price END ASC, " +
+           "CASE WHEN :sortBy = 'rating' THEN p.rating END DESC")
+    List<ProductSummary> findSummaries(@Param("categoryId") Long categoryId, @Param("sortBy") String sortBy);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.id > :id ORDER BY p.id ASC")
+    List<ProductSummary> findSummaryPage(@Param("id") Long id, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.id > :id ORDER BY p.id ASC")
+    List<ProductSummary> findSummaryPageByCategory(@Param("categoryId") Long categoryId, @Param("id") Long id,
+                                                   Limit limit);
+    
+    @Query("SELECT p.id, p.stock FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findStockByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Guarded decrement: only the row being bought is locked, and never below zero
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity WHERE p.id = :id AND p.stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity WHERE p.id = :id")
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    // Admin stock edit: only lands if no reservation has moved the stock since the editor loaded it
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = :stock WHERE p.id = :id AND COALESCE(p.stock, 0) = :expected")
+    int replaceStock(@Param("id") Long id, @Param("stock") int stock, @Param("expected") int expected);
+    
+    // Exports read through a server-side cursor (useCursorFetch on the MySQL URL) a few hundred
+    // rows at a time; DTO rows never enter the persistence context
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "ORDER BY p.id ASC")
+    Stream<ProductSummary> streamSummaries();
+    
+    // Native, so rows already hidden by the soft delete are still visible to the purge
+    @Modifying
+    @Query(value = "UPDATE products SET deleted = true WHERE category_id = :categoryId AND deleted = false",
+           nativeQuery = true)
+    int softDeleteByCategoryId(@Param("categoryId") Long categoryId);
+    
+    @Query(value = "SELECT id FROM products WHERE category_id = :categoryId AND id > :afterId ORDER BY id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> findIdsByCategoryIdAfter(@Param("categoryId") Long categoryId, @Param("afterId") Long afterId,
+                                        @Param("limit") int limit);
+    
+    @Modifying
+    @Query(value = "DELETE FROM products WHERE id IN (:ids)", nativeQuery = true)
+    int purgeByIdIn(@Param("ids") Collection<Long> ids);
+}
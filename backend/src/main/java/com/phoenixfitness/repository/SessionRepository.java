@@ -1,12 +1,15 @@
 package com.phoenixfitness.repository;
 
 import com.phoenixfitness.entity.Session;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -29,4 +32,57 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     @Query("SELECT s FROM Session s WHERE LOWER(s.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(s.instructorName) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<Session> findByTitleOrInstructorContaining(@Param("search") String search);
-}
\ No newline at end of file
+    
+    List<Session> findAllByOrderByScheduledDateAscIdAsc(Limit limit);
+    
+    List<Session> findBySeriesIdOrderByScheduledDateAsc(String seriesId);
+    
+    @Query("SELECT s FROM Session s WHERE s.seriesId = :seriesId AND s.scheduledDate >= :from ORDER BY s.scheduledDate")
+    List<Session> findBySeriesIdFrom(@Param("seriesId") String seriesId, @Param("from") LocalDateTime from);
+    
+    @Query("SELECT s FROM Session s WHERE s.scheduledDate > :date OR (s.scheduledDate = :date AND s.id > :id) " +
+           "ORDER BY s.scheduledDate ASC, s.id ASC")
+    List<Session> findPageAfter(@Param("date") LocalDateTime date, @Param("id") Long id, Limit limit);
+    
+    // Guarded increment: only succeeds while a seat is free, so concurrent bookings cannot oversell
+    @Modifying
+    @Query("UPDATE Session s SET s.currentParticipants = COALESCE(s.currentParticipants, 0) + 1 " +
+           "WHERE s.id = :id AND COALESCE(s.currentParticipants, 0) < s.maxParticipants")
+    int reserveSeat(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Session s SET s.currentParticipants = s.currentParticipants - 1 " +
+           "WHERE s.id = :id AND s.currentParticipants > 0")
+    int releaseSeat(@Param("id") Long id);
+    
+    @Modifying
+    @Query("UPDATE Session s SET s.currentParticipants = CASE WHEN s.currentParticipants > :count " +
+           "THEN s.currentParticipants - :count ELSE 0 END WHERE s.id = :id")
+    int releaseSeats(@Param("id") Long id, @Param("count") int count);
+    
+    // Sets each participant count to its seat-holding bookings (see Booking.BookingStatus.holdsSeat)
+    @Modifying
+    @Query(value = "UPDATE sessions s SET current_participants = (SELECT COUNT(*) FROM bookings b " +
+           "WHERE b.session_id = s.id AND b.status IN ('PENDING', 'CONFIRMED', 'COMPLETED')) " +
+           "WHERE COALESCE(s.current_participants, -1) <> (SELECT COUNT(*) FROM bookings b " +
+           "WHERE b.session_id = s.id AND b.status IN ('PENDING', 'CONFIRMED', 'COMPLETED'))", nativeQuery = true)
+    int reconcileParticipants();
+    
+    // [id, currentParticipants, maxParticipants] rows for refreshing the in-memory schedule
+    @Query("SELECT s.id, COALESCE(s.currentParticipants, 0), s.maxParticipants FROM Session s WHERE s.id IN :ids")
+    List<Object[]> findSeatCountsByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT s.id, COALESCE(s.currentParticipants, 0), s.maxParticipants FROM Session s")
+    List<Object[]> findSeatCounts();
+    
+    @Modifying
+    @Query(value = "UPDATE sessions SET deleted = true WHERE id = :id AND deleted = false", nativeQuery = true)
+    int softDelete(@Param("id") Long id);
+    
+    @Modifying
+    @Query(value = "DELETE FROM sessions WHERE id = :id", nativeQuery = true)
+    int purge(@Param("id") Long id);
+    
+    @Query(value = "SELECT id FROM sessions WHERE deleted = true", nativeQuery = true)
+    List<Long> findSoftDeletedIds();
+}
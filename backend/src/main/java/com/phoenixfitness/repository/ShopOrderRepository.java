@@ -0,0 +1,42 @@
+package com.phoenixfitness.repository;
+
+import com.phoenixfitness.entity.ShopOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ShopOrderRepository extends JpaRepository<ShopOrder, Long> {
+    
+    @Query("SELECT DISTINCT o FROM ShopOrder o LEFT JOIN FETCH o.items WHERE o.user.email = :email ORDER BY o.id DESC")
+    List<ShopOrder> findByUserEmailWithItems(@Param("email") String email);
+    
+    Optional<ShopOrder> findByIdAndUserEmail(Long id, String email);
+    
+    @Query("SELECT o.id FROM ShopOrder o WHERE o.status = 'PENDING_PAYMENT' AND o.expiresAt <= :now ORDER BY o.expiresAt ASC")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Limit limit);
+    
+    // Whoever flips the status owns the order's reserved stock: payment, cancellation and
+    // expiry all race through this one conditional UPDATE
+    @Modifying
+    @Query("UPDATE ShopOrder o SET o.status = :to, o.updatedAt = :now WHERE o.id = :id AND o.status = :from")
+    int transition(@Param("id") Long id, @Param("from") ShopOrder.OrderStatus from,
+                   @Param("to") ShopOrder.OrderStatus to, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE ShopOrder o SET o.status = 'PAID', o.updatedAt = :now " +
+           "WHERE o.id = :id AND o.status = 'PENDING_PAYMENT' AND o.expiresAt > :now")
+    int markPaid(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT i.productId, SUM(i.quantity) FROM ShopOrderItem i WHERE i.order.id IN :orderIds " +
+           "GROUP BY i.productId ORDER BY i.productId ASC")
+    List<Object[]> sumQuantitiesByProduct(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -0,0 +1,301 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Compact column-per-attribute snapshot of the catalog used to filter products and count
+// brand, category and price-bucket facets in a single scan, without touching the database.
+// The name, price and rating columns also order search matches before any row is loaded.
+@Component
+public class ProductFacetIndex {
+
+    private static final int NONE = -1;
+
+    @Value("${catalog.facets.price-buckets:1000,2500,5000,10000}")
+    private double[] priceBucketBounds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private long[] ids = new long[0];
+    private long[] categoryIds = new long[0];
+    private int[] brands = new int[0];
+    private String[] names = new String[0];
+    private double[] prices = new double[0];
+    private double[] ratings = new double[0];
+    private int[] stocks = new int[0];
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    // Brands are dictionary-encoded; the first spelling seen is the display name
+    private final Map<String, Integer> brandOrdinals = new HashMap<>();
+    private final List<String> brandNames = new ArrayList<>();
+
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            size = 0;
+            rowById.clear();
+            brandOrdinals.clear();
+            brandNames.clear();
+            ensureCapacity(products.size());
+            for (Product product : products) {
+                write(append(product.getId()), product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Product product) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(product.getId());
+            write(row != null ? row : append(product.getId()), product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStock(Long productId, Integer stock) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.get(productId);
+            if (row != null) {
+                stocks[row] = stock != null ? stock : 0;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(productId);
+            if (row == null) {
+                return;
+            }
+            // Move the last row into the hole so the columns stay dense
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                categoryIds[row] = categoryIds[last];
+                brands[row] = brands[last];
+                names[row] = names[last];
+                prices[row] = prices[last];
+                ratings[row] = ratings[last];
+                stocks[row] = stocks[last];
+                rowById.put(ids[row], row);
+            }
+            names[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Long getCategoryId(Long productId) {
+        lock.readLock().lock();
+        try {
+            Integer row = rowById.get(productId);
+            return row == null || categoryIds[row] == NONE ? null : categoryIds[row];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Orders product ids by "name", "price" or "rating" (best first); ids not in the snapshot are dropped
+    public List<Long> sort(Collection<Long> productIds, String sortBy) {
+        lock.readLock().lock();
+        try {
+            Comparator<Integer> order = switch (sortBy) {
+                case "name" -> Comparator.comparing((Integer row) -> names[row], String.CASE_INSENSITIVE_ORDER);
+                case "price" -> Comparator.comparingDouble((Integer row) -> prices[row]);
+                case "rating" -> Comparator.comparingDouble((Integer row) -> ratings[row]).reversed();
+                default -> throw new IllegalArgumentException("Unknown sort: " + sortBy);
+            };
+            List<Integer> rows = new ArrayList<>(productIds.size());
+            for (Long productId : productIds) {
+                Integer row = rowById.get(productId);
+                if (row != null) {
+                    rows.add(row);
+                }
+            }
+            rows.sort(order.thenComparingLong(row -> ids[row]));
+            List<Long> sorted = new ArrayList<>(rows.size());
+            for (Integer row : rows) {
+                sorted.add(ids[row]);
+            }
+            return sorted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // candidateIds narrows the scan to e.g. full-text matches; null means the whole catalog
+    public FacetCounts query(Set<Long> candidateIds, Long categoryId, String brand,
+                             BigDecimal minPrice, BigDecimal maxPrice, Double minRating, boolean inStockOnly) {
+        lock.readLock().lock();
+        try {
+            int brandFilter = NONE;
+            if (brand != null && !brand.isBlank()) {
+                Integer ordinal = brandOrdinals.get(brand.trim().toLowerCase(Locale.ROOT));
+                if (ordinal == null) {
+                    return new FacetCounts(List.of(), Map.of(), Map.of(), emptyPriceBuckets());
+                }
+                brandFilter = ordinal;
+            }
+            double min = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice.doubleValue();
+            double max = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice.doubleValue();
+
+            List<Long> matches = new ArrayList<>();
+            Map<Long, Integer> categoryCounts = new HashMap<>();
+            int[] brandCounts = new int[brandNames.size()];
+            int[] bucketCounts = new int[priceBucketBounds.length + 1];
+
+            for (int row = 0; row < size; row++) {
+                if ((categoryId != null && categoryIds[row] != categoryId)
+                        || (brandFilter != NONE && brands[row] != brandFilter)
+                        || prices[row] < min || prices[row] > max
+                        || (minRating != null && ratings[row] < minRating)
+                        || (inStockOnly && stocks[row] <= 0)
+                        || (candidateIds != null && !candidateIds.contains(ids[row]))) {
+                    continue;
+                }
+                matches.add(ids[row]);
+                if (categoryIds[row] != NONE) {
+                    categoryCounts.merge(categoryIds[row], 1, Integer::sum);
+                }
+                if (brands[row] != NONE) {
+                    brandCounts[brands[row]]++;
+                }
+                bucketCounts[bucketOf(prices[row])]++;
+            }
+
+            Map<String, Integer> brandFacet = new LinkedHashMap<>();
+            for (int ordinal = 0; ordinal < brandCounts.length; ordinal++) {
+                if (brandCounts[ordinal] > 0) {
+                    brandFacet.put(brandNames.get(ordinal), brandCounts[ordinal]);
+                }
+            }
+            Map<String, Integer> priceFacet = emptyPriceBuckets();
+            int bucket = 0;
+            for (String label : priceFacet.keySet()) {
+                priceFacet.put(label, bucketCounts[bucket++]);
+            }
+            return new FacetCounts(matches, categoryCounts, brandFacet, priceFacet);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int append(Long productId) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        ids[row] = productId;
+        rowById.put(productId, row);
+        return row;
+    }
+
+    private void write(int row, Product product) {
+        categoryIds[row] = product.getCategory() != null ? product.getCategory().getId() : NONE;
+        brands[row] = brandOrdinal(product.getBrand());
+        names[row] = product.getName() != null ? product.getName() : "";
+        prices[row] = product.getPrice() != null ? product.getPrice().doubleValue() : 0;
+        ratings[row] = product.getRating() != null ? product.getRating() : 0;
+        stocks[row] = product.getStock() != null ? product.getStock() : 0;
+    }
+
+    private int brandOrdinal(String brand) {
+        if (brand == null || brand.isBlank()) {
+            return NONE;
+        }
+        return brandOrdinals.computeIfAbsent(brand.trim().toLowerCase(Locale.ROOT), key -> {
+            brandNames.add(brand.trim());
+            return brandNames.size() - 1;
+        });
+    }
+
+    private int bucketOf(double price) {
+        int bucket = 0;
+        while (bucket < priceBucketBounds.length && price >= priceBucketBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private Map<String, Integer> emptyPriceBuckets() {
+        Map<String, Integer> buckets = new LinkedHashMap<>();
+        double lower = 0;
+        for (double upper : priceBucketBounds) {
+            buckets.put(format(lower) + "-" + format(upper), 0);
+            lower = upper;
+        }
+        buckets.put(format(lower) + "+", 0);
+        return buckets;
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, Math.max(16, ids.length * 2));
+        ids = Arrays.copyOf(ids, newLength);
+        categoryIds = Arrays.copyOf(categoryIds, newLength);
+        brands = Arrays.copyOf(brands, newLength);
+        names = Arrays.copyOf(names, newLength);
+        prices = Arrays.copyOf(prices, newLength);
+        ratings = Arrays.copyOf(ratings, newLength);
+        stocks = Arrays.copyOf(stocks, newLength);
+    }
+
+    public static class FacetCounts {
+        private final List<Long> productIds;
+        private final Map<Long, Integer> categories;
+        private final Map<String, Integer> brands;
+        private final Map<String, Integer> priceRanges;
+
+        public FacetCounts(List<Long> productIds, Map<Long, Integer> categories,
+                           Map<String, Integer> brands, Map<String, Integer> priceRanges) {
+            this.productIds = productIds;
+            this.categories = categories;
+            this.brands = brands;
+            this.priceRanges = priceRanges;
+        }
+
+        public List<Long> getProductIds() {
+            return productIds;
+        }
+
+        public Map<Long, Integer> getCategories() {
+            return categories;
+        }
+
+        public Map<String, Integer> getBrands() {
+            return brands;
+        }
+
+        public Map<String, Integer> getPriceRanges() {
+            return priceRanges;
+        }
+    }
+}
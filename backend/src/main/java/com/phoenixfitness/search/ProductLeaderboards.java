@@ -0,0 +1,269 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.dto.ProductSummary;
+import com.phoenixfitness.entity.Product;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+// Bounded top-K lists for the homepage widgets, kept current on every product write.
+// Each list holds up to twice the published size, so an entry dropping out is usually
+// backfilled from the slack; only when a list runs short is it refilled from the row table.
+@Component
+public class ProductLeaderboards {
+
+    public enum Board { TOP_RATED, MOST_DISCOUNTED, NEWEST, IN_STOCK }
+
+    private static final Comparator<Row> BY_RATING = Comparator
+            .comparing((Row row) -> row.rating, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(row -> row.reviewCount, Comparator.reverseOrder())
+            .thenComparing(row -> row.id);
+
+    private static final Comparator<Row> BY_DISCOUNT = Comparator
+            .comparing((Row row) -> row.discount, Comparator.reverseOrder())
+            .thenComparing(row -> row.id);
+
+    private static final Comparator<Row> BY_NEWEST = Comparator
+            .comparing((Row row) -> row.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(row -> row.id, Comparator.reverseOrder());
+
+    @Value("${catalog.leaderboards.size:20}")
+    private int size;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Row> rows = new HashMap<>();
+
+    private TopK topRated;
+    private TopK mostDiscounted;
+    private TopK newest;
+
+    // category id -> in-stock products of that category, best rated first
+    private final Map<Long, TopK> inStockByCategory = new HashMap<>();
+
+    public int getSize() {
+        return size;
+    }
+
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            rows.clear();
+            for (Product product : products) {
+                Row row = new Row(product);
+                rows.put(row.id, row);
+            }
+            topRated = new TopK(BY_RATING, row -> row.rating != null, null);
+            mostDiscounted = new TopK(BY_DISCOUNT, row -> row.discount > 0, null);
+            newest = new TopK(BY_NEWEST, row -> true, null);
+            inStockByCategory.clear();
+            for (TopK board : boards()) {
+                board.refill();
+            }
+            for (Row row : rows.values()) {
+                if (row.categoryId != null) {
+                    inStockBoard(row.categoryId).offer(row);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Product product) {
+        Row row = new Row(product);
+        lock.writeLock().lock();
+        try {
+            replace(row.id, row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateStock(Long productId, Integer stock) {
+        lock.writeLock().lock();
+        try {
+            Row current = rows.get(productId);
+            if (current != null) {
+                replace(productId, current.withStock(stock != null ? stock : 0));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            replace(productId, null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ProductSummary> top(Board board, Long categoryId, int limit) {
+        lock.readLock().lock();
+        try {
+            TopK list;
+            if (board == Board.IN_STOCK) {
+                if (categoryId == null) {
+                    throw new IllegalArgumentException("Category is required for the in-stock board");
+                }
+                list = inStockByCategory.get(categoryId);
+            } else {
+                list = board == Board.TOP_RATED ? topRated : board == Board.MOST_DISCOUNTED ? mostDiscounted : newest;
+            }
+            List<ProductSummary> products = new ArrayList<>();
+            if (list == null) {
+                return products;
+            }
+            for (Row row : list.entries) {
+                if (products.size() >= Math.min(limit, size)) {
+                    break;
+                }
+                products.add(row.summary);
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void replace(Long productId, Row next) {
+        if (topRated == null) {
+            return; // not built yet; the startup rebuild will pick the write up
+        }
+        Row previous = next != null ? rows.put(productId, next) : rows.remove(productId);
+        if (previous != null) {
+            for (TopK board : boards()) {
+                board.remove(previous);
+            }
+            if (previous.categoryId != null) {
+                TopK board = inStockByCategory.get(previous.categoryId);
+                if (board != null) {
+                    board.remove(previous);
+                    if (board.candidates == 0) {
+                        inStockByCategory.remove(previous.categoryId);
+                    }
+                }
+            }
+        }
+        if (next != null) {
+            for (TopK board : boards()) {
+                board.offer(next);
+            }
+            if (next.categoryId != null) {
+                inStockBoard(next.categoryId).offer(next);
+            }
+        }
+    }
+
+    private List<TopK> boards() {
+        return List.of(topRated, mostDiscounted, newest);
+    }
+
+    private TopK inStockBoard(Long categoryId) {
+        return inStockByCategory.computeIfAbsent(categoryId,
+                id -> new TopK(BY_RATING, row -> row.stock > 0, id));
+    }
+
+    private class TopK {
+        private final TreeSet<Row> entries;
+        private final Predicate<Row> eligible;
+        private final Long categoryId;
+
+        // How many rows qualify overall, so a short list knows whether a refill could help
+        private int candidates;
+
+        private TopK(Comparator<Row> order, Predicate<Row> eligible, Long categoryId) {
+            this.entries = new TreeSet<>(order);
+            this.eligible = eligible;
+            this.categoryId = categoryId;
+        }
+
+        private boolean qualifies(Row row) {
+            return eligible.test(row) && (categoryId == null || categoryId.equals(row.categoryId));
+        }
+
+        private void offer(Row row) {
+            if (!qualifies(row)) {
+                return;
+            }
+            // The list must stay a prefix of the full ranking: once rows have been cut from the tail,
+            // free slack only takes rows that beat the current last entry
+            boolean complete = entries.size() == candidates;
+            candidates++;
+            int capacity = size * 2;
+            if (complete || (!entries.isEmpty() && entries.comparator().compare(row, entries.last()) < 0)) {
+                entries.add(row);
+                if (entries.size() > capacity) {
+                    entries.pollLast();
+                }
+            }
+        }
+
+        private void remove(Row row) {
+            if (!qualifies(row)) {
+                return;
+            }
+            candidates--;
+            if (entries.remove(row) && entries.size() < size && candidates > entries.size()) {
+                refill();
+            }
+        }
+
+        // Full pass over the row table; only needed when churn has eaten through the slack
+        private void refill() {
+            entries.clear();
+            candidates = 0;
+            for (Row row : rows.values()) {
+                offer(row);
+            }
+        }
+    }
+
+    private static class Row {
+        private final Long id;
+        private final Long categoryId;
+        private final Double rating;
+        private final int reviewCount;
+        private final int discount;
+        private final int stock;
+        private final LocalDateTime createdAt;
+        private final ProductSummary summary;
+
+        private Row(Product product) {
+            this(ProductSummary.from(product), product.getCreatedAt());
+        }
+
+        private Row(ProductSummary summary, LocalDateTime createdAt) {
+            this.id = summary.getId();
+            this.categoryId = summary.getCategoryId();
+            this.rating = summary.getRating();
+            this.reviewCount = summary.getReviewCount() != null ? summary.getReviewCount() : 0;
+            this.discount = summary.getDiscount() != null ? summary.getDiscount() : 0;
+            this.stock = summary.getStock() != null ? summary.getStock() : 0;
+            this.createdAt = createdAt;
+            this.summary = summary;
+        }
+
+        private Row withStock(int stock) {
+            ProductSummary copy = new ProductSummary(summary.getId(), summary.getName(), summary.getPrice(),
+                    summary.getOriginalPrice(), summary.getImageUrl(), summary.getBrand(), summary.getRating(),
+                    summary.getReviewCount(), summary.getDiscount(), stock, summary.getCategoryId(),
+                    summary.getCategoryName());
+            return new Row(copy, createdAt);
+        }
+    }
+}
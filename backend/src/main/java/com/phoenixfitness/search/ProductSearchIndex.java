@@ -0,0 +1,215 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over product name, brand and description.
+// Every query term must match a token exactly or as a prefix; hits are ranked by
+// which field matched (name > brand > description) and whether the match was exact.
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 4;
+    private static final int BRAND_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 2;
+
+    private static final Comparator<Map.Entry<Long, Integer>> BEST_FIRST =
+            Map.Entry.<Long, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // token -> (product id -> summed field weight of that token in the product)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // product id -> tokens it was indexed under, so updates and deletes can unlink it
+    private final Map<Long, Set<String>> productTokens = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            productTokens.clear();
+            for (Product product : products) {
+                add(product);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            unlink(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            unlink(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Product ids matching every term of the query, best match first
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(score(query).entrySet());
+            ranked.sort(BEST_FIRST);
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Integer> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The best `limit` accepted matches, ranked here so callers never load more rows than they show
+    public List<Long> search(String query, int limit, LongPredicate accept) {
+        lock.readLock().lock();
+        try {
+            // Min-heap of the best entries so far; its head is the weakest one kept
+            PriorityQueue<Map.Entry<Long, Integer>> top = new PriorityQueue<>(BEST_FIRST.reversed());
+            for (Map.Entry<Long, Integer> entry : score(query).entrySet()) {
+                if (!accept.test(entry.getKey())) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(entry);
+                } else if (BEST_FIRST.compare(entry, top.peek()) < 0) {
+                    top.poll();
+                    top.add(entry);
+                }
+            }
+            Long[] ids = new Long[top.size()];
+            for (int i = ids.length - 1; i >= 0; i--) {
+                ids[i] = top.poll().getKey();
+            }
+            return Arrays.asList(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Summed score per product matching every term; callers hold the read lock
+    private Map<Long, Integer> score(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> scores = null;
+        for (String term : terms) {
+            Map<Long, Integer> termScores = scoreTerm(term);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Integer> merged = new HashMap<>();
+                for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                    Integer termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        merged.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = merged;
+            }
+            if (scores.isEmpty()) {
+                return Map.of();
+            }
+        }
+        return scores;
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Best score per product for one query term across all tokens it prefixes
+    private Map<Long, Integer> scoreTerm(String term) {
+        Map<Long, Integer> termScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> posting
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            int bonus = posting.getKey().equals(term) ? EXACT_MATCH_BONUS : 1;
+            for (Map.Entry<Long, Integer> hit : posting.getValue().entrySet()) {
+                termScores.merge(hit.getKey(), hit.getValue() * bonus, Math::max);
+            }
+        }
+        return termScores;
+    }
+
+    private void add(Product product) {
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getBrand(), BRAND_WEIGHT);
+        addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), token -> new HashMap<>())
+                    .put(product.getId(), entry.getValue());
+        }
+        productTokens.put(product.getId(), new HashSet<>(weights.keySet()));
+    }
+
+    private void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String token : new HashSet<>(tokenize(text))) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private void unlink(Long productId) {
+        Set<String> tokens = productTokens.remove(productId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Long, Integer> hits = postings.get(token);
+            if (hits != null) {
+                hits.remove(productId);
+                if (hits.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
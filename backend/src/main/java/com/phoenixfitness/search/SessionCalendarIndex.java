@@ -0,0 +1,200 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Session;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// The session schedule bucketed by calendar day, so week and month views and the upcoming list
+// are a sub-map walk instead of a query. Entries are detached copies that are replaced, never
+// modified, once published; the version moves on every change and feeds the calendar ETag.
+@Component
+public class SessionCalendarIndex {
+
+    private static final Comparator<Session> BY_START = Comparator
+            .comparing(Session::getScheduledDate)
+            .thenComparing(Session::getId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Session> byId = new HashMap<>();
+
+    private final TreeMap<LocalDate, TreeSet<Session>> days = new TreeMap<>();
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public void rebuild(Collection<Session> sessions) {
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            days.clear();
+            for (Session session : sessions) {
+                add(copyOf(session, session.getCurrentParticipants()));
+            }
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Session session) {
+        lock.writeLock().lock();
+        try {
+            unlink(session.getId());
+            add(copyOf(session, session.getCurrentParticipants()));
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long sessionId) {
+        lock.writeLock().lock();
+        try {
+            if (unlink(sessionId) != null) {
+                version.incrementAndGet();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateSeats(Long sessionId, Integer currentParticipants) {
+        lock.writeLock().lock();
+        try {
+            Session current = byId.get(sessionId);
+            if (current == null || current.getCurrentParticipants().equals(currentParticipants)) {
+                return;
+            }
+            unlink(sessionId);
+            add(copyOf(current, currentParticipants));
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Sessions starting in [from, to), earliest first
+    public List<Session> between(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            List<Session> result = new ArrayList<>();
+            NavigableMap<LocalDate, TreeSet<Session>> range =
+                    days.subMap(from.toLocalDate(), true, to.toLocalDate(), true);
+            for (TreeSet<Session> day : range.values()) {
+                for (Session session : day) {
+                    LocalDateTime start = session.getScheduledDate();
+                    if (!start.isBefore(from) && start.isBefore(to)) {
+                        result.add(session);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every indexed session, earliest first
+    public List<Session> all() {
+        lock.readLock().lock();
+        try {
+            List<Session> result = new ArrayList<>(byId.size());
+            for (TreeSet<Session> day : days.values()) {
+                result.addAll(day);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Session> upcoming(LocalDateTime now) {
+        lock.readLock().lock();
+        try {
+            List<Session> result = new ArrayList<>();
+            for (TreeSet<Session> day : days.tailMap(now.toLocalDate(), true).values()) {
+                for (Session session : day) {
+                    if (!session.getScheduledDate().isBefore(now)) {
+                        result.add(session);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The given sessions in the given order, skipping ids that are not indexed
+    public List<Session> get(List<Long> sessionIds) {
+        lock.readLock().lock();
+        try {
+            List<Session> result = new ArrayList<>(sessionIds.size());
+            for (Long id : sessionIds) {
+                Session session = byId.get(id);
+                if (session != null) {
+                    result.add(session);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(Session session) {
+        byId.put(session.getId(), session);
+        days.computeIfAbsent(session.getScheduledDate().toLocalDate(), day -> new TreeSet<>(BY_START)).add(session);
+    }
+
+    private Session unlink(Long sessionId) {
+        Session existing = byId.remove(sessionId);
+        if (existing != null) {
+            LocalDate day = existing.getScheduledDate().toLocalDate();
+            TreeSet<Session> bucket = days.get(day);
+            bucket.remove(existing);
+            if (bucket.isEmpty()) {
+                days.remove(day);
+            }
+        }
+        return existing;
+    }
+
+    private static Session copyOf(Session session, Integer currentParticipants) {
+        Session copy = new Session();
+        copy.setId(session.getId());
+        copy.setTitle(session.getTitle());
+        copy.setDescription(session.getDescription());
+        copy.setInstructorName(session.getInstructorName());
+        copy.setScheduledDate(session.getScheduledDate());
+        copy.setDuration(session.getDuration());
+        copy.setMaxParticipants(session.getMaxParticipants());
+        copy.setPrice(session.getPrice());
+        copy.setImageUrl(session.getImageUrl());
+        copy.setMeetLink(session.getMeetLink());
+        copy.setSeriesId(session.getSeriesId());
+        copy.setCurrentParticipants(currentParticipants == null ? 0 : currentParticipants);
+        copy.setStatus(session.getStatus());
+        copy.setCreatedAt(session.getCreatedAt());
+        copy.setUpdatedAt(session.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,265 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Trigram index over session titles and instructor names. Words are padded with a space on either
+// side, in the index and in the query, so grams cover each word's start and end as well as its
+// middle. A session matches when it contains the query as a substring, when it has a high enough
+// share of the query's grams, or when every query word is within one edit of one of its words,
+// which catches typos in short words ("hitt") that leave too few grams in common. Candidates are
+// only the sessions on the query's posting lists, so work is bounded by those, not by a table scan.
+@Component
+public class SessionSearchIndex {
+
+    private static final int MAX_QUERY_LENGTH = 64;
+    private static final int TITLE_WEIGHT = 2;
+    private static final int INSTRUCTOR_WEIGHT = 1;
+
+    @Value("${sessions.search.min-similarity:0.5}")
+    private double minSimilarity;
+
+    @Value("${sessions.search.max-results:50}")
+    private int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // gram -> (session id -> field weight of the best field containing the gram)
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // session id -> normalized title and instructor, for substring confirmation and unlinking
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    public void rebuild(Collection<Session> sessions) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            for (Session session : sessions) {
+                add(session);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Session session) {
+        lock.writeLock().lock();
+        try {
+            unlink(session.getId());
+            add(session);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long sessionId) {
+        lock.writeLock().lock();
+        try {
+            unlink(sessionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Session ids for the query: substring hits first (title before instructor), then closest misspellings
+    public List<Long> search(String query) {
+        String normalized = normalize(query);
+        if (normalized.length() > MAX_QUERY_LENGTH) {
+            normalized = normalized.substring(0, MAX_QUERY_LENGTH).trim();
+        }
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Each query word contributes its padded grams; a word too short for an inner gram only
+            // matches as a word prefix, since "yo" has no gram to share with a misspelling
+            String[] words = normalized.split(" ");
+            List<Map<Long, Integer>> parts = new ArrayList<>();
+            for (String word : words) {
+                if (word.length() < 3) {
+                    parts.add(prefixHits(" " + word));
+                } else {
+                    for (String gram : new LinkedHashSet<>(grams(" " + word + " "))) {
+                        parts.add(postings.getOrDefault(gram, Map.of()));
+                    }
+                }
+            }
+
+            Map<Long, Integer> matched = new HashMap<>();
+            Map<Long, Integer> weight = new HashMap<>();
+            for (Map<Long, Integer> part : parts) {
+                for (Map.Entry<Long, Integer> hit : part.entrySet()) {
+                    matched.merge(hit.getKey(), 1, Integer::sum);
+                    weight.merge(hit.getKey(), hit.getValue(), Math::max);
+                }
+            }
+
+            int needed = (int) Math.ceil(parts.size() * minSimilarity);
+            List<Hit> hits = new ArrayList<>();
+            for (Map.Entry<Long, Integer> entry : matched.entrySet()) {
+                String[] document = documents.get(entry.getKey());
+                int exact = document[0].contains(normalized) ? TITLE_WEIGHT
+                        : document[1].contains(normalized) ? INSTRUCTOR_WEIGHT : 0;
+                if (exact == 0 && entry.getValue() < needed && !closeToEveryWord(words, document)) {
+                    continue;
+                }
+                hits.add(new Hit(entry.getKey(), exact, (double) entry.getValue() / parts.size(),
+                        weight.get(entry.getKey())));
+            }
+            hits.sort((a, b) -> a.exact != b.exact ? Integer.compare(b.exact, a.exact)
+                    : a.similarity != b.similarity ? Double.compare(b.similarity, a.similarity)
+                    : a.weight != b.weight ? Integer.compare(b.weight, a.weight)
+                    : Long.compare(a.id, b.id));
+
+            List<Long> ids = new ArrayList<>(Math.min(hits.size(), maxResults));
+            for (Hit hit : hits.subList(0, Math.min(hits.size(), maxResults))) {
+                ids.add(hit.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean closeToEveryWord(String[] words, String[] document) {
+        for (String word : words) {
+            boolean found = false;
+            for (String field : document) {
+                for (String candidate : field.split(" ")) {
+                    if (candidate.startsWith(word) || (word.length() >= 3 && withinOneEdit(word, candidate))) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (found) {
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // One insertion, deletion, substitution or swap of adjacent letters
+    private static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (i == a.length() || i == b.length()) {
+            return true;
+        }
+        if (a.length() > b.length()) {
+            return a.regionMatches(i + 1, b, i, b.length() - i);
+        }
+        if (a.length() < b.length()) {
+            return a.regionMatches(i, b, i + 1, a.length() - i);
+        }
+        return a.regionMatches(i + 1, b, i + 1, a.length() - i - 1)
+                || (i + 1 < a.length() && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                && a.regionMatches(i + 2, b, i + 2, a.length() - i - 2));
+    }
+
+    private Map<Long, Integer> prefixHits(String prefix) {
+        Map<Long, Integer> hits = new HashMap<>();
+        for (Map<Long, Integer> posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            posting.forEach((id, fieldWeight) -> hits.merge(id, fieldWeight, Math::max));
+        }
+        return hits;
+    }
+
+    private void add(Session session) {
+        String title = normalize(session.getTitle());
+        String instructor = normalize(session.getInstructorName());
+        Map<String, Integer> weights = new HashMap<>();
+        for (String gram : paddedGrams(instructor)) {
+            weights.put(gram, INSTRUCTOR_WEIGHT);
+        }
+        for (String gram : paddedGrams(title)) {
+            weights.put(gram, TITLE_WEIGHT);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), gram -> new HashMap<>()).put(session.getId(), entry.getValue());
+        }
+        documents.put(session.getId(), new String[]{title, instructor});
+    }
+
+    private void unlink(Long sessionId) {
+        String[] document = documents.remove(sessionId);
+        if (document == null) {
+            return;
+        }
+        Set<String> grams = paddedGrams(document[0]);
+        grams.addAll(paddedGrams(document[1]));
+        for (String gram : grams) {
+            Map<Long, Integer> hits = postings.get(gram);
+            if (hits != null) {
+                hits.remove(sessionId);
+                if (hits.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> paddedGrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (!text.isEmpty()) {
+            for (String word : text.split(" ")) {
+                grams.addAll(grams(" " + word + " "));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> grams(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static class Hit {
+        private final long id;
+        private final int exact;
+        private final double similarity;
+        private final int weight;
+
+        Hit(long id, int exact, double similarity, int weight) {
+            this.id = id;
+            this.exact = exact;
+            this.similarity = similarity;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.dto.Suggestion;
+import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.entity.Product;
+import com.phoenixfitness.entity.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix trie for search-box typeahead over product names, brands, category names and session titles.
+// Each phrase is reachable from the start of every word in it, and every node caches the best
+// completions of its subtree, so a lookup is one walk down the typed prefix.
+@Component
+public class SuggestionIndex {
+
+    public enum Kind { PRODUCT, BRAND, CATEGORY, SESSION }
+
+    private static final int CATEGORY_WEIGHT = 40;
+    private static final int BRAND_WEIGHT = 30;
+    private static final int PRODUCT_WEIGHT = 20;
+    private static final int SESSION_WEIGHT = 20;
+    private static final int MAX_BRAND_BOOST = 20;
+    private static final int MAX_PHRASE_LENGTH = 80;
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingInt(Entry::score).reversed()
+            .thenComparingInt(entry -> entry.text.length())
+            .thenComparing(entry -> entry.text);
+
+    @Value("${catalog.suggest.max-results:10}")
+    private int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+
+    // kind + id (or normalized text for brands) -> entry; brands are shared by many products
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    // source such as "product:12" -> entry keys it contributed, so updates and deletes can unlink it
+    private final Map<String, List<String>> sources = new HashMap<>();
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public List<Suggestion> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            List<Suggestion> suggestions = new ArrayList<>();
+            for (Entry entry : node.top) {
+                if (suggestions.size() >= limit) {
+                    break;
+                }
+                suggestions.add(new Suggestion(entry.kind.name(), entry.id, entry.text));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void putProduct(Product product) {
+        update("product:" + product.getId(), productEntries(product));
+    }
+
+    public void putCategory(Category category) {
+        update("category:" + category.getId(), List.of(new Entry(Kind.CATEGORY, category.getId(),
+                category.getName(), CATEGORY_WEIGHT)));
+    }
+
+    public void putSession(Session session) {
+        update("session:" + session.getId(), List.of(new Entry(Kind.SESSION, session.getId(),
+                session.getTitle(), SESSION_WEIGHT)));
+    }
+
+    public void remove(Kind kind, Long id) {
+        update(kind.name().toLowerCase() + ":" + id, List.of());
+    }
+
+    public void rebuildProducts(Collection<Product> products) {
+        Map<String, List<Entry>> replacement = new HashMap<>();
+        for (Product product : products) {
+            replacement.put("product:" + product.getId(), productEntries(product));
+        }
+        rebuild("product:", replacement);
+    }
+
+    public void rebuildCategories(Collection<Category> categories) {
+        Map<String, List<Entry>> replacement = new HashMap<>();
+        for (Category category : categories) {
+            replacement.put("category:" + category.getId(), List.of(new Entry(Kind.CATEGORY, category.getId(),
+                    category.getName(), CATEGORY_WEIGHT)));
+        }
+        rebuild("category:", replacement);
+    }
+
+    public void rebuildSessions(Collection<Session> sessions) {
+        Map<String, List<Entry>> replacement = new HashMap<>();
+        for (Session session : sessions) {
+            replacement.put("session:" + session.getId(), List.of(new Entry(Kind.SESSION, session.getId(),
+                    session.getTitle(), SESSION_WEIGHT)));
+        }
+        rebuild("session:", replacement);
+    }
+
+    private List<Entry> productEntries(Product product) {
+        List<Entry> contributed = new ArrayList<>(2);
+        int ratingBoost = product.getRating() != null ? (int) Math.round(product.getRating() * 2) : 0;
+        contributed.add(new Entry(Kind.PRODUCT, product.getId(), product.getName(), PRODUCT_WEIGHT + ratingBoost));
+        contributed.add(new Entry(Kind.BRAND, null, product.getBrand(), BRAND_WEIGHT));
+        return contributed;
+    }
+
+    // Single-source change: only the trie paths of the touched phrases are re-ranked
+    private void update(String source, List<Entry> contributed) {
+        lock.writeLock().lock();
+        try {
+            Set<Entry> touched = new HashSet<>();
+            unlinkSource(source, touched);
+            linkSource(source, contributed, touched);
+            for (Entry entry : touched) {
+                for (String key : keys(entry.phrase)) {
+                    refreshPath(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bulk change: swap every source with the prefix, then re-rank the whole trie once
+    private void rebuild(String sourcePrefix, Map<String, List<Entry>> replacement) {
+        lock.writeLock().lock();
+        try {
+            Set<Entry> touched = new HashSet<>();
+            for (String source : new ArrayList<>(sources.keySet())) {
+                if (source.startsWith(sourcePrefix)) {
+                    unlinkSource(source, touched);
+                }
+            }
+            for (Map.Entry<String, List<Entry>> source : replacement.entrySet()) {
+                linkSource(source.getKey(), source.getValue(), touched);
+            }
+            refreshSubtree(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void linkSource(String source, List<Entry> contributed, Set<Entry> touched) {
+        List<String> keys = new ArrayList<>(contributed.size());
+        for (Entry candidate : contributed) {
+            if (candidate.phrase.isEmpty()) {
+                continue;
+            }
+            Entry entry = entries.get(candidate.key);
+            if (entry == null) {
+                entry = candidate;
+                entries.put(entry.key, entry);
+                for (String key : keys(entry.phrase)) {
+                    descend(key, true).terminals.add(entry);
+                }
+            }
+            entry.refs++;
+            keys.add(entry.key);
+            touched.add(entry);
+        }
+        if (!keys.isEmpty()) {
+            sources.put(source, keys);
+        }
+    }
+
+    private void unlinkSource(String source, Set<Entry> touched) {
+        List<String> keys = sources.remove(source);
+        if (keys == null) {
+            return;
+        }
+        for (String entryKey : keys) {
+            Entry entry = entries.get(entryKey);
+            if (entry == null) {
+                continue;
+            }
+            touched.add(entry);
+            if (--entry.refs == 0) {
+                entries.remove(entryKey);
+                for (String key : keys(entry.phrase)) {
+                    Node node = descend(key, false);
+                    if (node != null) {
+                        node.terminals.remove(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    private Node descend(String key, boolean create) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = new Node();
+                node.children.put(c, child);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    // Recompute the cached completions bottom-up along one key, pruning nodes left empty
+    private void refreshPath(String key) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            path.add(node);
+        }
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node current = path.get(depth);
+            rank(current);
+            if (depth > 0 && current.terminals.isEmpty() && current.children.isEmpty()) {
+                path.get(depth - 1).children.remove(key.charAt(depth - 1));
+            }
+        }
+    }
+
+    private void refreshSubtree(Node node) {
+        node.children.values().removeIf(child -> {
+            refreshSubtree(child);
+            return child.terminals.isEmpty() && child.children.isEmpty();
+        });
+        rank(node);
+    }
+
+    // A subtree's best completions are among its own terminals and its children's best lists
+    private void rank(Node node) {
+        List<Entry> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(RANKING);
+
+        List<Entry> top = new ArrayList<>(Math.min(candidates.size(), maxResults));
+        Set<Entry> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entry entry : candidates) {
+            if (top.size() >= maxResults) {
+                break;
+            }
+            if (seen.add(entry)) {
+                top.add(entry);
+            }
+        }
+        node.top = top;
+    }
+
+    // Keys start at every word, so "rope" completes to "Jump Rope"
+    private static List<String> keys(String phrase) {
+        List<String> keys = new ArrayList<>();
+        keys.add(phrase);
+        for (int i = phrase.indexOf(' '); i >= 0; i = phrase.indexOf(' ', i + 1)) {
+            keys.add(phrase.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        String phrase = String.join(" ", ProductSearchIndex.tokenize(text));
+        return phrase.length() > MAX_PHRASE_LENGTH ? phrase.substring(0, MAX_PHRASE_LENGTH) : phrase;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Entry> terminals = new ArrayList<>(1);
+        private List<Entry> top = List.of();
+    }
+
+    private static class Entry {
+        private final Kind kind;
+        private final Long id;
+        private final String text;
+        private final String phrase;
+        private final String key;
+        private final int weight;
+        private int refs;
+
+        private Entry(Kind kind, Long id, String text, int weight) {
+            this.kind = kind;
+            this.id = id;
+            this.text = text != null ? text.trim() : "";
+            this.phrase = normalize(text);
+            this.key = kind + ":" + (id != null ? id : phrase);
+            this.weight = weight;
+        }
+
+        // Brands rank higher the more products carry them
+        private int score() {
+            return kind == Kind.BRAND ? weight + Math.min(refs, MAX_BRAND_BOOST) : weight;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.phoenixfitness.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TokenRevocationService {
+
+    @Value("${jwt.expiration}")
+    private Long expiration;
+
+    // email -> tokens issued before this instant (epoch millis) are revoked
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public void revokeTokensIssuedBefore(String email, Date instant) {
+        revokedBefore.merge(email, instant.getTime(), Math::max);
+
+        // Entries older than the token lifetime can no longer match a live token
+        long horizon = System.currentTimeMillis() - expiration;
+        revokedBefore.values().removeIf(revokedAt -> revokedAt < horizon);
+    }
+
+    // issuedAtMillis comes from JwtUtil.extractIssuedAtMillis, so a token minted right after a
+    // logout in the same second stays valid
+    public boolean isRevoked(String email, long issuedAtMillis) {
+        Long cutoff = revokedBefore.get(email);
+        return cutoff != null && issuedAtMillis < cutoff;
+    }
+}
@@ -6,6 +6,8 @@ import com.phoenixfitness.dto.RegisterRequest;
 import com.phoenixfitness.entity.User;
 import com.phoenixfitness.repository.UserRepository;
 import com.phoenixfitness.security.JwtUtil;
+import com.phoenixfitness.security.PasswordHashingRejectedException;
+import com.phoenixfitness.security.TokenRevocationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Date;
 
 @Service
 public class AuthService {
@@ -30,6 +33,12 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
     public String register(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -59,19 +68,25 @@ public class AuthService {
             User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Update last login
-            user.setLastLogin(LocalDateTime.now());
-            userRepository.save(user);
+            // Update last login (written asynchronously in batches)
+            lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
             // Generate JWT token
             String token = jwtUtil.generateToken(user.getEmail(), user.getRole().name());
 
             return new LoginResponse(token, user);
+        } catch (PasswordHashingRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Invalid credentials");
         }
     }
 
+    public String logout(String email) {
+        tokenRevocationService.revokeTokensIssuedBefore(email, new Date());
+        return "Logged out successfully";
+    }
+
     public User validateToken(String token) {
         if (!jwtUtil.validateToken(token)) {
             throw new RuntimeException("Invalid token");
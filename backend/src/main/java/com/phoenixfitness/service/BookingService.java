@@ -1,11 +1,14 @@
 package com.phoenixfitness.service;
 
+import com.phoenixfitness.dto.BookingSummary;
+import com.phoenixfitness.dto.CursorPage;
 import com.phoenixfitness.entity.Booking;
-import com.phoenixfitness.entity.User;
 import com.phoenixfitness.repository.BookingRepository;
-import com.phoenixfitness.repository.UserRepository;
+import com.phoenixfitness.repository.SessionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -16,28 +19,91 @@ public class BookingService {
     private BookingRepository bookingRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private SessionRepository sessionRepository;
 
-    public List<Booking> getUserBookings(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return bookingRepository.findUserBookingsOrderByCreatedAtDesc(user.getId());
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private SessionSeatTracker sessionSeatTracker;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    public List<BookingSummary> getUserBookings(String userEmail) {
+        return bookingRepository.findUserBookingSummaries(userEmail);
     }
 
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    public List<BookingSummary> getAllBookings() {
+        return bookingRepository.findAllSummaries();
     }
 
+    public CursorPage<BookingSummary> getBookingsPage(String after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Long beforeId = after == null ? Long.MAX_VALUE : CursorPage.decodeId(after);
+        List<BookingSummary> rows = bookingRepository.findSummaryPage(beforeId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, booking -> booking.getId().toString());
+    }
+
+    @Transactional
     public Booking updateBookingStatus(Long bookingId, String status) {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new RuntimeException("Booking not found"));
 
+        Booking.BookingStatus bookingStatus;
         try {
-            Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-            booking.setStatus(bookingStatus);
-            return bookingRepository.save(booking);
+            bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
         } catch (IllegalArgumentException e) {
             throw new RuntimeException("Invalid booking status: " + status);
         }
+        if (bookingStatus == Booking.BookingStatus.WAITLISTED && booking.getStatus() != bookingStatus) {
+            throw new RuntimeException("Bookings join the waitlist only when a session is full");
+        }
+
+        Long sessionId = booking.getSession().getId();
+        Booking.BookingStatus previous = booking.getStatus();
+        booking.setStatus(bookingStatus);
+        Booking saved = bookingRepository.save(booking);
+
+        if (previous.holdsSeat() && !bookingStatus.holdsSeat()) {
+            // The freed seat is offered straight to the head of the waitlist, in this same transaction
+            sessionRepository.releaseSeat(sessionId);
+            waitlistService.promoteNext(sessionId);
+            sessionSeatTracker.seatsChanged(sessionId);
+        } else if (!previous.holdsSeat() && bookingStatus.holdsSeat()) {
+            if (sessionRepository.reserveSeat(sessionId) == 0) {
+                throw new RuntimeException("Session is fully booked");
+            }
+            sessionSeatTracker.seatsChanged(sessionId);
+        }
+        if (previous == Booking.BookingStatus.WAITLISTED && bookingStatus != previous) {
+            waitlistService.remove(sessionId, bookingId);
+        }
+        return saved;
+    }
+
+    public Integer getWaitlistPosition(Long bookingId, String userEmail) {
+        Booking booking = bookingRepository.findById(bookingId)
+            .filter(b -> b.getUser().getEmail().equals(userEmail))
+            .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if (booking.getStatus() != Booking.BookingStatus.WAITLISTED) {
+            throw new RuntimeException("Booking is not on the waitlist");
+        }
+        return waitlistService.getPosition(booking.getSession().getId(), bookingId);
+    }
+
+    // The seat held for a waitlisted booking once one came free; paying for its order confirms the booking
+    public SeatHoldService.Hold getWaitlistOffer(Long bookingId, String userEmail) {
+        Booking booking = bookingRepository.findById(bookingId)
+            .filter(b -> b.getUser().getEmail().equals(userEmail))
+            .orElseThrow(() -> new RuntimeException("Booking not found"));
+        if (booking.getStatus() != Booking.BookingStatus.WAITLISTED) {
+            throw new RuntimeException("Booking is not on the waitlist");
+        }
+        SeatHoldService.Hold offer = seatHoldService.findOffer(booking.getSession().getId(), userEmail);
+        if (offer == null) {
+            throw new RuntimeException("No seat is being held for this booking yet");
+        }
+        return offer;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,212 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.DeletionProgress;
+import com.phoenixfitness.repository.BookingRepository;
+import com.phoenixfitness.repository.CartItemRepository;
+import com.phoenixfitness.repository.CategoryRepository;
+import com.phoenixfitness.repository.ProductRepository;
+import com.phoenixfitness.repository.SessionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Set-based deletes for categories and sessions. One short transaction hides the parent and all
+// of its children with a handful of UPDATEs, so the delete is visible at once. In hard mode a
+// background thread then purges the children in id-ordered chunks, one transaction per chunk,
+// so no single statement holds row locks across a whole large category.
+@Service
+public class BulkDeleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    private static final int MAX_TRACKED_JOBS = 100;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // hard: purge the rows after hiding them; soft: keep them hidden
+    @Value("${catalog.bulk-delete.mode:hard}")
+    private String mode;
+
+    @Value("${catalog.bulk-delete.chunk-size:1000}")
+    private int chunkSize;
+
+    private ExecutorService purger;
+
+    private final Map<String, DeletionProgress> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DeletionProgress> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+
+    @PostConstruct
+    public void init() {
+        purger = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-delete");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // An interrupted purge leaves its rows hidden; the next startup finishes it
+    @PreDestroy
+    public void shutdown() {
+        purger.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePurges() {
+        if (!isHardMode()) {
+            return;
+        }
+        for (Long categoryId : categoryRepository.findSoftDeletedIds()) {
+            schedulePurge(new DeletionProgress(newJobId(), "category", categoryId, mode, 0),
+                    progress -> purgeCategory(categoryId, progress));
+        }
+        for (Long sessionId : sessionRepository.findSoftDeletedIds()) {
+            schedulePurge(new DeletionProgress(newJobId(), "session", sessionId, mode, 0),
+                    progress -> purgeSession(sessionId, progress));
+        }
+    }
+
+    public DeletionProgress deleteCategory(Long categoryId) {
+        Integer products = transactionTemplate.execute(status -> {
+            if (categoryRepository.softDelete(categoryId) == 0) {
+                throw new RuntimeException("Category not found");
+            }
+            cartItemRepository.deleteByCategoryId(categoryId);
+            return productRepository.softDeleteByCategoryId(categoryId);
+        });
+        DeletionProgress progress = new DeletionProgress(newJobId(), "category", categoryId, mode, products);
+        schedulePurge(progress, job -> purgeCategory(categoryId, job));
+        return progress;
+    }
+
+    public DeletionProgress deleteSession(Long sessionId) {
+        Long bookings = transactionTemplate.execute(status -> {
+            if (sessionRepository.softDelete(sessionId) == 0) {
+                throw new RuntimeException("Session not found");
+            }
+            bookingRepository.cancelOpenBySessionId(sessionId);
+            return bookingRepository.countBySessionId(sessionId);
+        });
+        DeletionProgress progress = new DeletionProgress(newJobId(), "session", sessionId, mode, bookings);
+        schedulePurge(progress, job -> purgeSession(sessionId, job));
+        return progress;
+    }
+
+    public DeletionProgress getProgress(String jobId) {
+        synchronized (jobs) {
+            DeletionProgress progress = jobs.get(jobId);
+            if (progress == null) {
+                throw new RuntimeException("Deletion job not found");
+            }
+            return progress;
+        }
+    }
+
+    public List<DeletionProgress> getRecentJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    private void purgeCategory(Long categoryId, DeletionProgress progress) {
+        purgeChunks(progress,
+                (afterId, limit) -> productRepository.findIdsByCategoryIdAfter(categoryId, afterId, limit),
+                ids -> {
+                    cartItemRepository.deleteByProductIdIn(ids);
+                    return productRepository.purgeByIdIn(ids);
+                });
+        transactionTemplate.executeWithoutResult(status -> categoryRepository.purge(categoryId));
+    }
+
+    private void purgeSession(Long sessionId, DeletionProgress progress) {
+        purgeChunks(progress,
+                (afterId, limit) -> bookingRepository.findIdsBySessionIdAfter(sessionId, afterId, limit),
+                bookingRepository::purgeByIdIn);
+        transactionTemplate.executeWithoutResult(status -> sessionRepository.purge(sessionId));
+    }
+
+    private void purgeChunks(DeletionProgress progress, BiFunction<Long, Integer, List<Long>> nextIds,
+                             Function<List<Long>, Integer> deleteChunk) {
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Purge interrupted by shutdown");
+            }
+            ids = nextIds.apply(afterId, chunkSize);
+            if (!ids.isEmpty()) {
+                List<Long> chunk = ids;
+                Integer deleted = transactionTemplate.execute(status -> deleteChunk.apply(chunk));
+                progress.advance(deleted);
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == chunkSize);
+    }
+
+    private void schedulePurge(DeletionProgress progress, Consumer<DeletionProgress> purge) {
+        synchronized (jobs) {
+            jobs.put(progress.getJobId(), progress);
+        }
+        if (!isHardMode()) {
+            progress.advance(progress.getTotal());
+            progress.complete();
+            return;
+        }
+        purger.execute(() -> {
+            try {
+                purge.accept(progress);
+                progress.complete();
+                log.info("Purged {} {} with {} child rows", progress.getTarget(), progress.getTargetId(),
+                        progress.getDeleted());
+            } catch (RuntimeException e) {
+                progress.fail(e.getMessage());
+                log.error("Purge of {} {} failed", progress.getTarget(), progress.getTargetId(), e);
+            }
+        });
+    }
+
+    private boolean isHardMode() {
+        return !"soft".equalsIgnoreCase(mode);
+    }
+
+    private static String newJobId() {
+        return UUID.randomUUID().toString();
+    }
+}
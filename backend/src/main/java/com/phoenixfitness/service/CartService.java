@@ -0,0 +1,203 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.CartItemRequest;
+import com.phoenixfitness.entity.CartItem;
+import com.phoenixfitness.entity.Product;
+import com.phoenixfitness.entity.ShopOrder;
+import com.phoenixfitness.entity.ShopOrderItem;
+import com.phoenixfitness.entity.User;
+import com.phoenixfitness.repository.CartItemRepository;
+import com.phoenixfitness.repository.ProductRepository;
+import com.phoenixfitness.repository.ShopOrderRepository;
+import com.phoenixfitness.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Stock is reserved at checkout with a guarded decrement per product row and held by the order
+// until it is paid, cancelled or expires. Expired reservations are returned in batches.
+@Service
+public class CartService {
+
+    private static final Logger log = LoggerFactory.getLogger(CartService.class);
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ShopOrderRepository shopOrderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${shop.reservation.ttl:15m}")
+    private Duration reservationTtl;
+
+    @Value("${shop.reservation.release-batch-size:200}")
+    private int releaseBatchSize;
+
+    public List<CartItem> getCart(String userEmail) {
+        return cartItemRepository.findByUserEmailOrderByProductIdAsc(userEmail);
+    }
+
+    @Transactional
+    public CartItem addItem(String userEmail, CartItemRequest request) {
+        User user = userRepository.findByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        Product product = productRepository.findById(request.getProductId())
+            .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        CartItem item = cartItemRepository.findByUserIdAndProductId(user.getId(), product.getId())
+            .orElseGet(() -> new CartItem(user, product, 0));
+        item.setQuantity(item.getQuantity() + request.getQuantity());
+        return cartItemRepository.save(item);
+    }
+
+    @Transactional
+    public CartItem updateItem(String userEmail, Long productId, Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        CartItem item = findCartItem(userEmail, productId);
+        item.setQuantity(quantity);
+        return cartItemRepository.save(item);
+    }
+
+    @Transactional
+    public void removeItem(String userEmail, Long productId) {
+        cartItemRepository.delete(findCartItem(userEmail, productId));
+    }
+
+    public List<ShopOrder> getUserOrders(String userEmail) {
+        return shopOrderRepository.findByUserEmailWithItems(userEmail);
+    }
+
+    @Transactional
+    public ShopOrder checkout(String userEmail) {
+        User user = userRepository.findByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        List<CartItem> cart = cartItemRepository.findByUserEmailOrderByProductIdAsc(userEmail);
+        if (cart.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+
+        // Lines are reserved in product-id order, so two multi-line checkouts always lock rows in
+        // the same sequence and cannot deadlock. Any shortfall rolls back the whole reservation.
+        ShopOrder order = new ShopOrder(user, LocalDateTime.now().plus(reservationTtl));
+        BigDecimal total = BigDecimal.ZERO;
+        List<Long> productIds = new ArrayList<>();
+        for (CartItem item : cart) {
+            Product product = item.getProduct();
+            if (productRepository.reserveStock(product.getId(), item.getQuantity()) == 0) {
+                throw new RuntimeException("Insufficient stock for " + product.getName());
+            }
+            order.addItem(new ShopOrderItem(product.getId(), product.getName(), product.getPrice(), item.getQuantity()));
+            total = total.add(product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            productIds.add(product.getId());
+        }
+        order.setTotalAmount(total);
+
+        ShopOrder saved = shopOrderRepository.save(order);
+        cartItemRepository.deleteByUserId(user.getId());
+        productService.refreshStock(productIds);
+        return saved;
+    }
+
+    @Transactional
+    public ShopOrder payOrder(String userEmail, Long orderId) {
+        ShopOrder order = findOrder(userEmail, orderId);
+        if (shopOrderRepository.markPaid(order.getId(), LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Order is no longer awaiting payment");
+        }
+        order.setStatus(ShopOrder.OrderStatus.PAID);
+        return order;
+    }
+
+    @Transactional
+    public ShopOrder cancelOrder(String userEmail, Long orderId) {
+        ShopOrder order = findOrder(userEmail, orderId);
+        if (shopOrderRepository.transition(order.getId(), ShopOrder.OrderStatus.PENDING_PAYMENT,
+                ShopOrder.OrderStatus.CANCELLED, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Order can no longer be cancelled");
+        }
+        releaseStock(List.of(order.getId()));
+        order.setStatus(ShopOrder.OrderStatus.CANCELLED);
+        return order;
+    }
+
+    @Scheduled(fixedDelayString = "${shop.reservation.sweep-interval-ms:30000}")
+    public void releaseExpiredReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> expiredIds;
+        do {
+            expiredIds = shopOrderRepository.findExpiredIds(now, Limit.of(releaseBatchSize));
+            if (expiredIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = expiredIds;
+            Integer released = transactionTemplate.execute(status -> expireBatch(batch, now));
+            log.debug("Expired {} unpaid orders", released);
+        } while (expiredIds.size() == releaseBatchSize);
+    }
+
+    private int expireBatch(List<Long> orderIds, LocalDateTime now) {
+        // An order paid or cancelled since the scan fails its transition and keeps its stock
+        List<Long> owned = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            if (shopOrderRepository.transition(orderId, ShopOrder.OrderStatus.PENDING_PAYMENT,
+                    ShopOrder.OrderStatus.EXPIRED, now) == 1) {
+                owned.add(orderId);
+            }
+        }
+        if (!owned.isEmpty()) {
+            releaseStock(owned);
+        }
+        return owned.size();
+    }
+
+    // Quantities are summed per product first, so a batch of expired orders on a hot SKU
+    // costs one UPDATE for that row, applied in product-id order like checkout
+    private void releaseStock(Collection<Long> orderIds) {
+        List<Long> productIds = new ArrayList<>();
+        for (Object[] row : shopOrderRepository.sumQuantitiesByProduct(orderIds)) {
+            Long productId = (Long) row[0];
+            productRepository.releaseStock(productId, ((Number) row[1]).intValue());
+            productIds.add(productId);
+        }
+        productService.refreshStock(productIds);
+    }
+
+    private CartItem findCartItem(String userEmail, Long productId) {
+        User user = userRepository.findByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        return cartItemRepository.findByUserIdAndProductId(user.getId(), productId)
+            .orElseThrow(() -> new RuntimeException("Product is not in the cart"));
+    }
+
+    private ShopOrder findOrder(String userEmail, Long orderId) {
+        return shopOrderRepository.findByIdAndUserEmail(orderId, userEmail)
+            .orElseThrow(() -> new RuntimeException("Order not found"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.phoenixfitness.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through cache for the public catalog reads. Each region carries a version that is
+// bumped on every write; the version is part of both the cache key and the ETag, so a write
+// retires all cached responses of its region and every ETag handed out for them.
+@Component
+public class CatalogCache {
+
+    public enum Region {
+        PRODUCTS, SESSIONS
+    }
+
+    @Value("${catalog.cache.maximum-size:2000}")
+    private long maximumSize;
+
+    @Value("${catalog.cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<String, Object> cache;
+
+    private final Map<Region, AtomicLong> versions = new EnumMap<>(Region.class);
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        // Seeded from the clock so ETags issued before a restart never match new content
+        long seed = System.currentTimeMillis();
+        for (Region region : Region.values()) {
+            versions.put(region, new AtomicLong(seed));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Entry<T> get(Region region, String key, Supplier<T> loader) {
+        long version = versions.get(region).get();
+        String cacheKey = region + ":" + version + ":" + key;
+        T value = (T) cache.get(cacheKey, k -> loader.get());
+        String etag = "\"" + region.name().toLowerCase() + "-" + Long.toHexString(version)
+                + "-" + Integer.toHexString(key.hashCode()) + "\"";
+        return new Entry<>(value, etag);
+    }
+
+    // Inside a transaction the bump waits for commit, so no reader can cache pre-commit data
+    // under the new version
+    public void invalidate(Region... regions) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(regions);
+                }
+            });
+        } else {
+            bump(regions);
+        }
+    }
+
+    // For callers already running after commit, where a further afterCommit callback would never fire
+    public void invalidateNow(Region... regions) {
+        bump(regions);
+    }
+
+    private void bump(Region... regions) {
+        for (Region region : regions) {
+            versions.get(region).incrementAndGet();
+            String prefix = region + ":";
+            cache.asMap().keySet().removeIf(cacheKey -> cacheKey.startsWith(prefix));
+        }
+    }
+
+    public static class Entry<T> {
+        private final T value;
+        private final String etag;
+
+        public Entry(T value, String etag) {
+            this.value = value;
+            this.etag = etag;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.repository.CategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Categories are a handful of rows that almost never change, so every read is served from an
+// immutable snapshot. Writes build a new snapshot and swap it in; readers never lock and never
+// see a half-applied change. A periodic reload picks up edits made outside this instance.
+@Component
+public class CategoryRegistry {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    // Seeded from the clock so ETags issued before a restart never match new content
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    private volatile Snapshot snapshot;
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    public List<Category> getAll() {
+        return snapshot().all;
+    }
+
+    public Optional<Category> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId.get(id));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return name == null ? Optional.empty()
+                : Optional.ofNullable(snapshot().byName.get(name.trim().toLowerCase(Locale.ROOT)));
+    }
+
+    // The version feeds category and product ETags, so an unchanged reload keeps the current snapshot
+    @Scheduled(fixedDelayString = "${catalog.categories.refresh-interval-ms:300000}")
+    public synchronized Snapshot reload() {
+        List<Category> loaded = categoryRepository.findAll();
+        Snapshot current = snapshot;
+        if (current != null && current.sameAs(loaded)) {
+            return current;
+        }
+        return swap(loaded);
+    }
+
+    public synchronized void put(Category category) {
+        Map<Long, Category> next = new HashMap<>(snapshot().byId);
+        next.put(category.getId(), category);
+        swap(next.values());
+    }
+
+    public synchronized void remove(Long id) {
+        Map<Long, Category> next = new HashMap<>(snapshot().byId);
+        next.remove(id);
+        swap(next.values());
+    }
+
+    private Snapshot swap(Iterable<Category> categories) {
+        Snapshot next = new Snapshot(versions.incrementAndGet(), categories);
+        snapshot = next;
+        return next;
+    }
+
+    public static class Snapshot {
+        private final long version;
+        private final List<Category> all;
+        private final Map<Long, Category> byId;
+        private final Map<String, Category> byName;
+
+        private Snapshot(long version, Iterable<Category> categories) {
+            List<Category> all = new ArrayList<>();
+            Map<Long, Category> byId = new HashMap<>();
+            Map<String, Category> byName = new HashMap<>();
+            for (Category category : categories) {
+                // Copies, so no persistence context can load or mutate what readers share
+                Category copy = copyOf(category);
+                all.add(copy);
+                byId.put(copy.getId(), copy);
+                byName.put(copy.getName().toLowerCase(Locale.ROOT), copy);
+            }
+            all.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            this.version = version;
+            this.all = Collections.unmodifiableList(all);
+            this.byId = Collections.unmodifiableMap(byId);
+            this.byName = Collections.unmodifiableMap(byName);
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public List<Category> getAll() {
+            return all;
+        }
+
+        public Category get(Long id) {
+            return byId.get(id);
+        }
+
+        private boolean sameAs(Collection<Category> categories) {
+            if (categories.size() != byId.size()) {
+                return false;
+            }
+            for (Category category : categories) {
+                Category existing = byId.get(category.getId());
+                if (existing == null
+                        || !Objects.equals(existing.getName(), category.getName())
+                        || !Objects.equals(existing.getDescription(), category.getDescription())
+                        || !Objects.equals(existing.getImageUrl(), category.getImageUrl())
+                        || !Objects.equals(existing.getCreatedAt(), category.getCreatedAt())
+                        || !Objects.equals(existing.getUpdatedAt(), category.getUpdatedAt())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Category copyOf(Category category) {
+            Category copy = new Category();
+            copy.setId(category.getId());
+            copy.setName(category.getName());
+            copy.setDescription(category.getDescription());
+            copy.setImageUrl(category.getImageUrl());
+            copy.setCreatedAt(category.getCreatedAt());
+            copy.setUpdatedAt(category.getUpdatedAt());
+            return copy;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.phoenixfitness.service;
 
 import com.phoenixfitness.dto.CategoryRequest;
+import com.phoenixfitness.dto.DeletionProgress;
 import com.phoenixfitness.entity.Category;
 import com.phoenixfitness.repository.CategoryRepository;
+import com.phoenixfitness.search.SuggestionIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,12 +16,27 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryRegistry.getAll();
     }
 
     public Category getCategoryById(Long id) {
-        return categoryRepository.findById(id)
+        return categoryRegistry.findById(id)
             .orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
@@ -33,11 +50,17 @@ public class CategoryService {
         category.setDescription(request.getDescription());
         category.setImageUrl(request.getImageUrl());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.put(saved);
+        suggestionIndex.putCategory(saved);
+        // Product responses embed the category, so they go stale too
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+        return saved;
     }
 
     public Category updateCategory(Long id, CategoryRequest request) {
-        Category category = getCategoryById(id);
+        // Writes work on the managed row; the registry only ever hands out read-only copies
+        Category category = findManaged(id);
 
         // Check if name is being changed and if new name already exists
         if (!category.getName().equals(request.getName()) && 
@@ -45,15 +68,34 @@ public class CategoryService {
             throw new RuntimeException("Category name already exists");
         }
 
+        boolean renamed = !category.getName().equals(request.getName());
         category.setName(request.getName());
         category.setDescription(request.getDescription());
         category.setImageUrl(request.getImageUrl());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryRegistry.put(saved);
+        suggestionIndex.putCategory(saved);
+        if (renamed) {
+            // Leaderboard entries carry the category name
+            productService.refreshCatalogIndexes();
+        }
+        // Product responses embed the category, so they go stale too
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+        return saved;
+    }
+
+    public DeletionProgress deleteCategory(Long id) {
+        DeletionProgress progress = bulkDeleteService.deleteCategory(id);
+        categoryRegistry.remove(id);
+        // The category's products are hidden already, even while the purge is still running
+        productService.refreshCatalogIndexes();
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+        return progress;
     }
 
-    public void deleteCategory(Long id) {
-        Category category = getCategoryById(id);
-        categoryRepository.delete(category);
+    private Category findManaged(Long id) {
+        return categoryRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Category not found"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,195 @@
+package com.phoenixfitness.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixfitness.dto.BookingSummary;
+import com.phoenixfitness.dto.ProductSummary;
+import com.phoenixfitness.entity.User;
+import com.phoenixfitness.repository.BookingRepository;
+import com.phoenixfitness.repository.ProductRepository;
+import com.phoenixfitness.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Writes whole tables as NDJSON or CSV straight from a cursor-backed Stream, one row at a time,
+// so memory use does not grow with the table
+@Service
+public class ExportService {
+
+    public enum Dataset { PRODUCTS, BOOKINGS, USERS }
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public static Dataset parseDataset(String dataset) {
+        try {
+            return Dataset.valueOf(dataset.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown export: " + dataset);
+        }
+    }
+
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+
+    // Runs on the async request thread; the stream has to be consumed inside this transaction
+    public void export(Dataset dataset, Format format, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            switch (dataset) {
+                case PRODUCTS -> {
+                    try (Stream<ProductSummary> rows = productRepository.streamSummaries()) {
+                        write(rows, format, productColumns(), writer, row -> {});
+                    }
+                }
+                case BOOKINGS -> {
+                    try (Stream<BookingSummary> rows = bookingRepository.streamSummaries()) {
+                        write(rows, format, bookingColumns(), writer, row -> {});
+                    }
+                }
+                case USERS -> {
+                    try (Stream<User> rows = userRepository.streamAllByOrderByIdAsc()) {
+                        // Entities would otherwise pile up in the persistence context until commit
+                        write(rows, format, userColumns(), writer, entityManager::detach);
+                    }
+                }
+            }
+        });
+    }
+
+    private <T> void write(Stream<T> rows, Format format, Map<String, Function<T, Object>> columns,
+                           Writer writer, Consumer<T> written) {
+        try {
+            if (format == Format.CSV) {
+                writer.write(String.join(",", columns.keySet()));
+                writer.write('\n');
+            }
+            int count = 0;
+            for (T row : (Iterable<T>) rows::iterator) {
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, row, columns);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                written.accept(row);
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize export row", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> void writeCsvRow(Writer writer, T row, Map<String, Function<T, Object>> columns) throws IOException {
+        boolean first = true;
+        for (Function<T, Object> column : columns.values()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            Object value = column.apply(row);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static Map<String, Function<ProductSummary, Object>> productColumns() {
+        Map<String, Function<ProductSummary, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", ProductSummary::getId);
+        columns.put("name", ProductSummary::getName);
+        columns.put("price", ProductSummary::getPrice);
+        columns.put("originalPrice", ProductSummary::getOriginalPrice);
+        columns.put("brand", ProductSummary::getBrand);
+        columns.put("rating", ProductSummary::getRating);
+        columns.put("reviewCount", ProductSummary::getReviewCount);
+        columns.put("discount", ProductSummary::getDiscount);
+        columns.put("stock", ProductSummary::getStock);
+        columns.put("categoryId", ProductSummary::getCategoryId);
+        columns.put("categoryName", ProductSummary::getCategoryName);
+        return columns;
+    }
+
+    private static Map<String, Function<BookingSummary, Object>> bookingColumns() {
+        Map<String, Function<BookingSummary, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", BookingSummary::getId);
+        columns.put("amount", BookingSummary::getAmount);
+        columns.put("status", BookingSummary::getStatus);
+        columns.put("createdAt", BookingSummary::getCreatedAt);
+        columns.put("userId", booking -> booking.getUser().getId());
+        columns.put("userName", booking -> booking.getUser().getName());
+        columns.put("userEmail", booking -> booking.getUser().getEmail());
+        columns.put("sessionId", booking -> booking.getSession().getId());
+        columns.put("sessionTitle", booking -> booking.getSession().getTitle());
+        columns.put("scheduledDate", booking -> booking.getSession().getScheduledDate());
+        return columns;
+    }
+
+    private static Map<String, Function<User, Object>> userColumns() {
+        Map<String, Function<User, Object>> columns = new LinkedHashMap<>();
+        columns.put("id", User::getId);
+        columns.put("name", User::getName);
+        columns.put("email", User::getEmail);
+        columns.put("phone", User::getPhone);
+        columns.put("role", User::getRole);
+        columns.put("createdAt", User::getCreatedAt);
+        columns.put("lastLogin", User::getLastLogin);
+        return columns;
+    }
+}
@@ -0,0 +1,134 @@
+package com.phoenixfitness.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.phoenixfitness.entity.IdempotencyRecord;
+import com.phoenixfitness.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Stored responses for requests carrying an Idempotency-Key. Recent keys sit in a bounded
+// in-memory cache; the table behind it survives restarts and cache evictions, and its unique
+// scope key is what settles two concurrent first attempts.
+@Service
+public class IdempotencyService {
+
+    public enum Outcome { CLAIMED, REPLAY, IN_FLIGHT, MISMATCH }
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${idempotency.cache-size:10000}")
+    private long cacheSize;
+
+    @Value("${idempotency.retention:24h}")
+    private Duration retention;
+
+    // A claim older than this is taken to belong to a request that died mid-flight
+    @Value("${idempotency.in-flight-timeout:60s}")
+    private Duration inFlightTimeout;
+
+    private Cache<String, IdempotencyRecord> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    // Looks the key up and, when it is new, claims it; the returned record is the claim or the stored response
+    public Result begin(String scopeKey, String requestHash) {
+        IdempotencyRecord cached = cache.getIfPresent(scopeKey);
+        if (cached != null) {
+            return classify(cached, requestHash);
+        }
+        IdempotencyRecord claim = new IdempotencyRecord(scopeKey, requestHash);
+        IdempotencyRecord racing = cache.asMap().putIfAbsent(scopeKey, claim);
+        if (racing != null) {
+            return classify(racing, requestHash);
+        }
+        try {
+            Optional<IdempotencyRecord> stored = transactionTemplate.execute(status -> {
+                idempotencyRecordRepository.deleteAbandoned(scopeKey, LocalDateTime.now().minus(inFlightTimeout));
+                return idempotencyRecordRepository.findByScopeKey(scopeKey);
+            });
+            if (stored.isPresent()) {
+                if (stored.get().isCompleted()) {
+                    cache.put(scopeKey, stored.get());
+                } else {
+                    cache.asMap().remove(scopeKey, claim);
+                }
+                return classify(stored.get(), requestHash);
+            }
+            return new Result(Outcome.CLAIMED, idempotencyRecordRepository.saveAndFlush(claim));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance claimed the key between our lookup and insert
+            cache.asMap().remove(scopeKey, claim);
+            return new Result(Outcome.IN_FLIGHT, null);
+        } catch (RuntimeException e) {
+            cache.asMap().remove(scopeKey, claim);
+            throw e;
+        }
+    }
+
+    public void complete(IdempotencyRecord claim, int status, String contentType, String body) {
+        claim.setResponseStatus(status);
+        claim.setContentType(contentType);
+        claim.setResponseBody(body);
+        claim.setCompleted(true);
+        IdempotencyRecord saved = idempotencyRecordRepository.save(claim);
+        cache.put(claim.getScopeKey(), saved);
+    }
+
+    // Failed attempts are not stored, so the client can retry them under the same key
+    public void release(IdempotencyRecord claim) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.deleteByScopeKey(claim.getScopeKey()));
+        cache.invalidate(claim.getScopeKey());
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyRecordRepository.deleteByCreatedAtBefore(LocalDateTime.now().minus(retention)));
+    }
+
+    private static Result classify(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return new Result(Outcome.MISMATCH, record);
+        }
+        return new Result(record.isCompleted() ? Outcome.REPLAY : Outcome.IN_FLIGHT, record);
+    }
+
+    public static class Result {
+        private final Outcome outcome;
+        private final IdempotencyRecord record;
+
+        Result(Outcome outcome, IdempotencyRecord record) {
+            this.outcome = outcome;
+            this.record = record;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public IdempotencyRecord getRecord() {
+            return record;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.phoenixfitness.service;
 
 import com.phoenixfitness.dto.CreateOrderRequest;
 import com.phoenixfitness.dto.VerifyPaymentRequest;
+import com.phoenixfitness.entity.Booking;
 import com.phoenixfitness.entity.Session;
 import com.phoenixfitness.entity.User;
+import com.phoenixfitness.repository.BookingRepository;
 import com.phoenixfitness.repository.SessionRepository;
 import com.phoenixfitness.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +24,12 @@ public class PaymentService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
     public Map<String, Object> createOrder(CreateOrderRequest request, String userEmail) {
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -29,12 +37,22 @@ public class PaymentService {
         Session session = sessionRepository.findById(request.getSessionId())
             .orElseThrow(() -> new RuntimeException("Session not found"));
 
+        // Waitlisted members pay through here too; their hold is the seat offered to them
+        if (bookingRepository.findByUserAndSession(user, session)
+                .filter(booking -> booking.getStatus() != Booking.BookingStatus.WAITLISTED).isPresent()) {
+            throw new RuntimeException("You have already booked this session");
+        }
+
         // In a real implementation, you would integrate with a payment gateway like Razorpay or Stripe
         // For demo purposes, we'll create a mock order
         String orderId = "order_" + UUID.randomUUID().toString().substring(0, 8);
 
+        // The seat is held while the member pays; booking with this order id claims it
+        SeatHoldService.Hold hold = seatHoldService.hold(orderId, session.getId(), user.getEmail());
+
         Map<String, Object> orderData = new HashMap<>();
-        orderData.put("orderId", orderId);
+        orderData.put("orderId", hold.getOrderId());
+        orderData.put("holdExpiresAt", hold.getExpiresAt());
         orderData.put("amount", request.getAmount());
         orderData.put("currency", request.getCurrency());
         orderData.put("sessionId", session.getId());
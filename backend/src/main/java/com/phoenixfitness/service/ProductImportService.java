@@ -0,0 +1,342 @@
+package com.phoenixfitness.service;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixfitness.dto.ProductImportResult;
+import com.phoenixfitness.dto.ProductRequest;
+import com.phoenixfitness.entity.Category;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Streams a CSV or JSON-lines catalog into the products table with batched JDBC inserts.
+// Rows are validated one by one; bad rows are reported by line number and skipped, and a batch
+// the database rejects is reported by its line range.
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO products (name, description, price, original_price, stock, " +
+            "image_url, brand, material, warranty, rating, review_count, discount, category_id, deleted, created_at, " +
+            "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?, ?)";
+
+    @Autowired
+    private CategoryRegistry categoryRegistry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${catalog.import.batch-size:1000}")
+    private int batchSize;
+
+    public ProductImportResult importCsv(InputStream body) throws IOException {
+        return importRows(body, true);
+    }
+
+    public ProductImportResult importJsonLines(InputStream body) throws IOException {
+        return importRows(body, false);
+    }
+
+    private ProductImportResult importRows(InputStream body, boolean csv) throws IOException {
+        ProductImportResult result = new ProductImportResult();
+        Batch batch = new Batch(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (csv) {
+                readCsv(reader, batch, result);
+            } else {
+                readJsonLines(reader, batch, result);
+            }
+            flush(batch, result);
+        } finally {
+            // Rows from batches that committed are live even if a later batch or the stream failed
+            if (result.getImported() > 0) {
+                productService.refreshCatalogIndexes();
+            }
+        }
+        return result;
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch, ProductImportResult result) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = null;
+        while (true) {
+            List<String> values;
+            try {
+                values = records.next();
+            } catch (IllegalArgumentException e) {
+                // An unterminated quote runs to the end of the input
+                rejectRow(result, records.getRecordLine(), e.getMessage());
+                return;
+            }
+            if (values == null) {
+                return;
+            }
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            if (header == null) {
+                header = new ArrayList<>();
+                for (String column : values) {
+                    header.add(column.trim());
+                }
+                continue;
+            }
+            try {
+                add(csvFields(header, values), records.getRecordLine(), batch, result);
+            } catch (IllegalArgumentException e) {
+                rejectRow(result, records.getRecordLine(), e.getMessage());
+            }
+        }
+    }
+
+    private void readJsonLines(BufferedReader reader, Batch batch, ProductImportResult result) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                add(jsonFields(line), lineNumber, batch, result);
+            } catch (IllegalArgumentException e) {
+                rejectRow(result, lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private void add(Map<String, Object> fields, long lineNumber, Batch batch, ProductImportResult result) {
+        Object categoryName = fields.remove("category");
+        ProductRequest request = toRequest(fields);
+
+        Category category = null;
+        if (request.getCategoryId() != null) {
+            category = categoryRegistry.findById(request.getCategoryId()).orElse(null);
+        } else if (categoryName != null) {
+            category = categoryRegistry.findByName(categoryName.toString()).orElse(null);
+            if (category == null) {
+                throw new IllegalArgumentException("Category not found: " + categoryName);
+            }
+            request.setCategoryId(category.getId());
+        }
+
+        Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.iterator().next().getMessage());
+        }
+        if (category == null) {
+            throw new IllegalArgumentException("Category not found");
+        }
+
+        batch.add(toRow(request), lineNumber);
+        if (batch.rows.size() >= batchSize) {
+            flush(batch, result);
+        }
+    }
+
+    // A batch is one transaction: if it fails, none of its rows landed and the whole line range is reported
+    private void flush(Batch batch, ProductImportResult result) {
+        if (batch.rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch.rows));
+            result.setImported(result.getImported() + batch.rows.size());
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Product import batch for lines {}-{} failed", batch.firstLine, batch.lastLine, e);
+            result.setFailed(result.getFailed() + batch.rows.size());
+            result.getBatchErrors().add(new ProductImportResult.BatchError(batch.firstLine, batch.lastLine,
+                batch.rows.size(), e.getMostSpecificCause().getMessage()));
+        }
+        batch.clear();
+    }
+
+    private void rejectRow(ProductImportResult result, long lineNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ProductImportResult.RowError(lineNumber, message));
+        }
+    }
+
+    private Object[] toRow(ProductRequest request) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new Object[]{
+            request.getName(), request.getDescription(), request.getPrice(), request.getOriginalPrice(),
+            request.getStock(), request.getImageUrl(), request.getBrand(), request.getMaterial(),
+            request.getWarranty(), request.getRating(), request.getReviewCount(), request.getDiscount(),
+            request.getCategoryId(), now, now
+        };
+    }
+
+    private ProductRequest toRequest(Map<String, Object> fields) {
+        try {
+            return objectMapper.convertValue(fields, ProductRequest.class);
+        } catch (IllegalArgumentException e) {
+            if (e.getCause() instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                throw new IllegalArgumentException("Invalid value for " + mapping.getPath().get(0).getFieldName());
+            }
+            throw new IllegalArgumentException("Invalid product row");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> jsonFields(String line) {
+        try {
+            return objectMapper.readValue(line, LinkedHashMap.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+    }
+
+    private Map<String, Object> csvFields(List<String> header, List<String> values) {
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+        return fields;
+    }
+
+    private static class Batch {
+        private final List<Object[]> rows;
+        private long firstLine;
+        private long lastLine;
+
+        Batch(int capacity) {
+            rows = new ArrayList<>(capacity);
+        }
+
+        void add(Object[] row, long line) {
+            if (rows.isEmpty()) {
+                firstLine = line;
+            }
+            rows.add(row);
+            lastLine = line;
+        }
+
+        void clear() {
+            rows.clear();
+        }
+    }
+
+    // RFC 4180 records: comma separated, double quotes around fields, "" for a literal quote. A
+    // quoted field may span lines, so records are read character by character, not per line.
+    private static class CsvRecordReader {
+        private static final int NONE = -2;
+
+        private final Reader reader;
+        private int pushedBack = NONE;
+        private long line = 1;
+        private long recordLine;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        // Line the last record returned by next() started on
+        long getRecordLine() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                    c = '\n';
+                }
+                if (c == '\n') {
+                    line++;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        int next = read();
+                        if (next != '"') {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    }
+                    current.append((char) c);
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else {
+                    current.append((char) c);
+                }
+                c = read();
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            values.add(current.toString());
+            return values;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != NONE) {
+                int c = pushedBack;
+                pushedBack = NONE;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
@@ -1,14 +1,39 @@
 package com.phoenixfitness.service;
 
+import com.phoenixfitness.dto.CursorPage;
+import com.phoenixfitness.dto.ProductFacetResult;
 import com.phoenixfitness.dto.ProductRequest;
+import com.phoenixfitness.dto.ProductSummary;
+import com.phoenixfitness.dto.Suggestion;
 import com.phoenixfitness.entity.Category;
 import com.phoenixfitness.entity.Product;
-import com.phoenixfitness.repository.CategoryRepository;
+import com.phoenixfitness.repository.CartItemRepository;
 import com.phoenixfitness.repository.ProductRepository;
+import com.phoenixfitness.search.ProductFacetIndex;
+import com.phoenixfitness.search.ProductLeaderboards;
+import com.phoenixfitness.search.ProductSearchIndex;
+import com.phoenixfitness.search.SuggestionIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductService {
@@ -17,10 +42,106 @@ public class ProductService {
     private ProductRepository productRepository;
 
     @Autowired
-    private CategoryRepository categoryRepository;
+    private CategoryRegistry categoryRegistry;
 
-    public List<Product> getAllProducts(String search, Long categoryId, String sortBy) {
-        return productRepository.findProductsWithFilters(search, categoryId, sortBy);
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private ProductLeaderboards productLeaderboards;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Value("${catalog.search.max-results:100}")
+    private int searchMaxResults;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshCatalogIndexes() {
+        List<Product> products = productRepository.findAll();
+        // Facets first: the search path reads categories from them once the search index is ready
+        productFacetIndex.rebuild(products);
+        productSearchIndex.rebuild(products);
+        productLeaderboards.rebuild(products);
+        suggestionIndex.rebuildProducts(products);
+        suggestionIndex.rebuildCategories(categoryRegistry.getAll());
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+    }
+
+    public List<ProductSummary> getAllProducts(Long categoryId, String sortBy) {
+        return productRepository.findSummaries(categoryId, sortBy == null ? "name" : sortBy);
+    }
+
+    // Search results in pages of `limit` (catalog.search.max-results when absent). Relevance order
+    // unless sortBy is name, price or rating, which order the whole match set before it is paged.
+    // The cursor is the offset of the next page in that order.
+    public CursorPage<ProductSummary> searchProducts(String search, Long categoryId, String sortBy,
+                                                     String after, Integer limit) {
+        int pageSize = limit == null ? searchMaxResults : CursorPage.clampLimit(limit);
+        int offset = after == null ? 0 : (int) Math.max(0, Math.min(CursorPage.decodeId(after), Integer.MAX_VALUE));
+        boolean sorted = sortBy != null && List.of("name", "price", "rating").contains(sortBy);
+        Function<ProductSummary, String> nextOffset = product -> Long.toString((long) offset + pageSize);
+
+        if (!productSearchIndex.isReady()) {
+            List<Product> matches = productRepository.findProductsWithFilters(search, categoryId, sorted ? sortBy : null);
+            List<ProductSummary> rows = slice(matches, offset, pageSize + 1).stream()
+                .map(ProductSummary::from)
+                .collect(Collectors.toList());
+            return CursorPage.of(rows, pageSize, nextOffset);
+        }
+
+        LongPredicate inCategory = id -> categoryId == null || categoryId.equals(productFacetIndex.getCategoryId(id));
+        List<Long> ids;
+        if (sorted) {
+            ids = productFacetIndex.sort(productSearchIndex.search(search, Integer.MAX_VALUE, inCategory), sortBy);
+        } else {
+            // Relevance: rank only as deep as this page inside the index
+            ids = productSearchIndex.search(search, (int) Math.min((long) offset + pageSize + 1, Integer.MAX_VALUE),
+                inCategory);
+        }
+        // Load only the rows on this page
+        return CursorPage.of(findSummariesInOrder(slice(ids, offset, pageSize + 1)), pageSize, nextOffset);
+    }
+
+    public CursorPage<ProductSummary> getProductsPage(Long categoryId, String after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        Long afterId = after == null ? 0L : CursorPage.decodeId(after);
+        List<ProductSummary> rows = categoryId == null
+            ? productRepository.findSummaryPage(afterId, Limit.of(pageSize + 1))
+            : productRepository.findSummaryPageByCategory(categoryId, afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, product -> product.getId().toString());
+    }
+
+    // Matching products plus brand, category and price-range counts, computed in one scan
+    public ProductFacetResult getProductFacets(String search, Long categoryId, String brand, BigDecimal minPrice,
+                                               BigDecimal maxPrice, Double minRating, boolean inStock, Integer limit) {
+        List<Long> rankedIds = null;
+        if (search != null && !search.isBlank()) {
+            rankedIds = productSearchIndex.search(search);
+        }
+        ProductFacetIndex.FacetCounts counts = productFacetIndex.query(
+            rankedIds == null ? null : new HashSet<>(rankedIds), categoryId, brand, minPrice, maxPrice, minRating, inStock);
+
+        List<Long> matchingIds = counts.getProductIds();
+        if (rankedIds != null) {
+            // Keep search relevance order for the returned page
+            Set<Long> matching = new HashSet<>(matchingIds);
+            matchingIds = rankedIds.stream().filter(matching::contains).collect(Collectors.toList());
+        }
+        int pageSize = CursorPage.clampLimit(limit);
+        List<ProductSummary> products = findSummariesInOrder(matchingIds.subList(0, Math.min(pageSize, matchingIds.size())));
+
+        return new ProductFacetResult(matchingIds.size(), products,
+            counts.getCategories(), counts.getBrands(), counts.getPriceRanges());
     }
 
     public Product getProductById(Long id) {
@@ -28,12 +149,12 @@ public class ProductService {
             .orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
-    public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+    public List<ProductSummary> getProductsByCategory(Long categoryId) {
+        return productRepository.findSummaries(categoryId, null);
     }
 
     public Product createProduct(ProductRequest request) {
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryRegistry.findById(request.getCategoryId())
             .orElseThrow(() -> new RuntimeException("Category not found"));
 
         Product product = new Product();
@@ -51,19 +172,30 @@ public class ProductService {
         product.setDiscount(request.getDiscount());
         product.setCategory(category);
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        indexProduct(saved);
+        return saved;
     }
 
+    @Transactional
     public Product updateProduct(Long id, ProductRequest request) {
         Product product = getProductById(id);
-        Category category = categoryRepository.findById(request.getCategoryId())
+        Category category = categoryRegistry.findById(request.getCategoryId())
             .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        // Checkouts move stock with guarded UPDATEs, so an edit from a stale form must not overwrite them
+        Integer expected = request.getExpectedStock() != null ? request.getExpectedStock() : product.getStock();
+        if (request.getStock() != null && !request.getStock().equals(expected)) {
+            if (productRepository.replaceStock(id, request.getStock(), expected == null ? 0 : expected) == 0) {
+                throw new RuntimeException("Stock has changed since the product was loaded; reload and try again");
+            }
+            product.setStock(request.getStock());
+        }
+
         product.setName(request.getName());
         product.setDescription(request.getDescription());
         product.setPrice(request.getPrice());
         product.setOriginalPrice(request.getOriginalPrice());
-        product.setStock(request.getStock());
         product.setImageUrl(request.getImageUrl());
         product.setBrand(request.getBrand());
         product.setMaterial(request.getMaterial());
@@ -73,11 +205,98 @@ public class ProductService {
         product.setDiscount(request.getDiscount());
         product.setCategory(category);
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        indexProduct(saved);
+        return saved;
     }
 
+    @Transactional
     public void deleteProduct(Long id) {
         Product product = getProductById(id);
+        cartItemRepository.deleteByProductId(id);
         productRepository.delete(product);
+        unindexProduct(id);
+    }
+
+    // Homepage widgets: a precomputed slice instead of sorting the products table per request
+    public List<ProductSummary> getLeaderboard(String board, Long categoryId, Integer limit) {
+        ProductLeaderboards.Board selected;
+        try {
+            selected = ProductLeaderboards.Board.valueOf(board.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown board: " + board);
+        }
+        int size = limit == null ? productLeaderboards.getSize() : Math.max(1, limit);
+        try {
+            return productLeaderboards.top(selected, categoryId, size);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+    }
+
+    public List<Suggestion> suggest(String query, Integer limit) {
+        int max = suggestionIndex.getMaxResults();
+        int size = limit == null ? max : Math.max(1, Math.min(limit, max));
+        return suggestionIndex.suggest(query, size);
+    }
+
+    private void indexProduct(Product product) {
+        productSearchIndex.index(product);
+        productFacetIndex.upsert(product);
+        productLeaderboards.upsert(product);
+        suggestionIndex.putProduct(product);
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+    }
+
+    // Stock moves through guarded UPDATEs that bypass the entities, so the facet column is refreshed
+    // from the committed rows rather than from whatever the persistence context holds
+    public void refreshStock(Collection<Long> productIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadStock(productIds);
+                }
+            });
+        } else {
+            reloadStock(productIds);
+        }
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+    }
+
+    private void reloadStock(Collection<Long> productIds) {
+        for (Object[] row : productRepository.findStockByIdIn(productIds)) {
+            productFacetIndex.updateStock((Long) row[0], (Integer) row[1]);
+            productLeaderboards.updateStock((Long) row[0], (Integer) row[1]);
+        }
+    }
+
+    private void unindexProduct(Long id) {
+        productSearchIndex.remove(id);
+        productFacetIndex.remove(id);
+        productLeaderboards.remove(id);
+        suggestionIndex.remove(SuggestionIndex.Kind.PRODUCT, id);
+        catalogCache.invalidate(CatalogCache.Region.PRODUCTS);
+    }
+
+    private static <T> List<T> slice(List<T> list, int offset, int count) {
+        int from = Math.min(offset, list.size());
+        return list.subList(from, (int) Math.min((long) from + count, list.size()));
+    }
+
+    private List<ProductSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductSummary> byId = productRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(ProductSummary::getId, Function.identity()));
+        List<ProductSummary> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductSummary product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
     }
 }
\ No newline at end of file
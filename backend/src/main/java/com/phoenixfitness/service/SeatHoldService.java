@@ -0,0 +1,244 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.repository.SessionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Seats held between payment order creation and booking. A hold takes the seat up front with the
+// same guarded UPDATE as a booking; bookSession then consumes it by order id. Expiry runs on a
+// hashed timing wheel: adding a hold is O(1) and each tick only looks at one bucket, so tens of
+// thousands of live holds cost one scheduled task and no DB polling. Seats from holds that expire
+// in the same tick are handed back with one UPDATE per session. Seats freed for a waitlist are
+// offered the same way: a hold for the member at the head, with a longer deadline.
+@Service
+public class SeatHoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldService.class);
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private SessionSeatTracker sessionSeatTracker;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${sessions.hold.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${sessions.waitlist.offer-ttl:30m}")
+    private Duration offerTtl;
+
+    @Value("${sessions.hold.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${sessions.hold.wheel-size:512}")
+    private int wheelSize;
+
+    // order id -> live hold; whoever removes the entry (booking or expiry) owns the seat
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    // "sessionId:email" -> order id, so repeated checkouts by one member reuse their hold
+    private final Map<String, String> holdByMember = new ConcurrentHashMap<>();
+
+    private final ReentrantLock wheelLock = new ReentrantLock();
+
+    // guarded by wheelLock
+    private TimingWheel<Hold> wheel;
+
+    private long tickNanos;
+
+    private long startNanos;
+
+    @PostConstruct
+    public void init() {
+        wheel = new TimingWheel<>(wheelSize);
+        tickNanos = Duration.ofMillis(tickMillis).toNanos();
+        startNanos = System.nanoTime();
+    }
+
+    // Holds live only in memory, so seats held when the app stopped are recounted from bookings
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileSeats() {
+        int fixed = transactionTemplate.execute(status -> sessionRepository.reconcileParticipants());
+        if (fixed > 0) {
+            log.info("Reconciled participant counts of {} sessions", fixed);
+            sessionSeatTracker.allSeatsChanged();
+        }
+    }
+
+    public Hold hold(String orderId, Long sessionId, String userEmail) {
+        String memberKey = sessionId + ":" + userEmail;
+        String existing = holdByMember.get(memberKey);
+        if (existing != null) {
+            Hold hold = holds.get(existing);
+            if (hold != null) {
+                return hold;
+            }
+        }
+        if (transactionTemplate.execute(status -> sessionRepository.reserveSeat(sessionId)) == 0) {
+            throw new RuntimeException("Session is fully booked");
+        }
+        sessionSeatTracker.seatsChanged(sessionId);
+        Hold hold = new Hold(orderId, sessionId, memberKey, Instant.now().plus(ttl), null);
+        holds.put(orderId, hold);
+        holdByMember.put(memberKey, orderId);
+        schedule(hold);
+        return hold;
+    }
+
+    // Holds a seat the waitlist already reserved for the member of this booking; creating a payment
+    // order for the session returns this hold, and booking with it confirms the waitlisted booking
+    public Hold offer(Long sessionId, String userEmail, Long bookingId) {
+        String orderId = "order_" + UUID.randomUUID().toString().substring(0, 8);
+        String memberKey = sessionId + ":" + userEmail;
+        Hold hold = new Hold(orderId, sessionId, memberKey, Instant.now().plus(offerTtl), bookingId);
+        holds.put(orderId, hold);
+        holdByMember.put(memberKey, orderId);
+        schedule(hold);
+        log.debug("Offered a waitlist seat in session {} to booking {}", sessionId, bookingId);
+        return hold;
+    }
+
+    // The live waitlist offer for this member and session, if any
+    public Hold findOffer(Long sessionId, String userEmail) {
+        String orderId = holdByMember.get(sessionId + ":" + userEmail);
+        Hold hold = orderId == null ? null : holds.get(orderId);
+        return hold != null && hold.bookingId != null ? hold : null;
+    }
+
+    // Claims the hold for a booking. Must run inside the booking transaction: if that rolls back,
+    // the hold is reinstated with its original deadline.
+    public boolean consume(String orderId, Long sessionId, String userEmail) {
+        if (orderId == null) {
+            return false;
+        }
+        Hold hold = holds.get(orderId);
+        if (hold == null || !hold.sessionId.equals(sessionId) || !hold.memberKey.equals(sessionId + ":" + userEmail)
+                || !holds.remove(orderId, hold)) {
+            return false;
+        }
+        holdByMember.remove(hold.memberKey, orderId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    // A fresh entry, since the old one may still sit in its wheel bucket
+                    Hold reinstated = new Hold(orderId, sessionId, hold.memberKey, hold.expiresAt, hold.bookingId);
+                    holds.put(orderId, reinstated);
+                    holdByMember.put(hold.memberKey, orderId);
+                    schedule(reinstated);
+                }
+            }
+        });
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${sessions.hold.tick-ms:1000}")
+    public void tick() {
+        Map<Long, Integer> expiredBySession = new HashMap<>();
+        List<Long> lapsedOffers = new ArrayList<>();
+        List<Hold> due;
+        wheelLock.lock();
+        try {
+            due = wheel.advanceTo(currentTick());
+        } finally {
+            wheelLock.unlock();
+        }
+        for (Hold hold : due) {
+            if (holds.remove(hold.orderId, hold)) {
+                holdByMember.remove(hold.memberKey, hold.orderId);
+                expiredBySession.merge(hold.sessionId, 1, Integer::sum);
+                if (hold.bookingId != null) {
+                    lapsedOffers.add(hold.bookingId);
+                }
+            }
+        }
+        if (!expiredBySession.isEmpty()) {
+            release(expiredBySession, lapsedOffers);
+        }
+    }
+
+    private void release(Map<Long, Integer> expiredBySession, List<Long> lapsedOffers) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!lapsedOffers.isEmpty()) {
+                waitlistService.lapse(lapsedOffers);
+            }
+            for (Map.Entry<Long, Integer> entry : expiredBySession.entrySet()) {
+                sessionRepository.releaseSeats(entry.getKey(), entry.getValue());
+                // Returned seats are offered to the waitlist first
+                waitlistService.promoteInto(entry.getKey(), entry.getValue());
+            }
+        });
+        sessionSeatTracker.seatsChanged(expiredBySession.keySet());
+        log.debug("Released expired seat holds: {}", expiredBySession);
+    }
+
+    private void schedule(Hold hold) {
+        long ticks = (Duration.between(Instant.now(), hold.expiresAt).toNanos() + tickNanos - 1) / tickNanos;
+        wheelLock.lock();
+        try {
+            wheel.schedule(hold, currentTick(), ticks);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private long currentTick() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    public static class Hold {
+        private final String orderId;
+        private final Long sessionId;
+        private final String memberKey;
+        private final Instant expiresAt;
+
+        // Set when the hold is a seat offered to this waitlisted booking
+        private final Long bookingId;
+
+        Hold(String orderId, Long sessionId, String memberKey, Instant expiresAt, Long bookingId) {
+            this.orderId = orderId;
+            this.sessionId = sessionId;
+            this.memberKey = memberKey;
+            this.expiresAt = expiresAt;
+            this.bookingId = bookingId;
+        }
+
+        public String getOrderId() {
+            return orderId;
+        }
+
+        public Long getSessionId() {
+            return sessionId;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
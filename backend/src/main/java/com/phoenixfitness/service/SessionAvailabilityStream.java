@@ -0,0 +1,268 @@
+package com.phoenixfitness.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.phoenixfitness.dto.SeatDelta;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Pushes seat-count changes to the schedule page over SSE. Changes are collected per session and
+// flushed once per window, so a booking rush costs one event per window rather than one per
+// booking; the event is framed once and the same bytes are queued for every subscriber.
+// Connections use servlet non-blocking writes: a frame is only written while the connection
+// reports it can take more, so no thread ever waits on a client. A client that stops reading
+// only backs up its own outbox and is dropped once it falls too far behind.
+@Service
+public class SessionAvailabilityStream {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionAvailabilityStream.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${sessions.stream.coalesce-ms:500}")
+    private long coalesceMillis;
+
+    @Value("${sessions.stream.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${sessions.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${sessions.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${sessions.stream.max-backlog:16}")
+    private int maxBacklog;
+
+    @Value("${sessions.stream.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // session id -> latest counts since the last flush; later changes overwrite earlier ones
+    private final Map<Long, SeatDelta> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventId = new AtomicLong();
+
+    private ScheduledExecutorService publisher;
+
+    @PostConstruct
+    public void init() {
+        publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher.scheduleWithFixedDelay(this::flush, coalesceMillis, coalesceMillis, TimeUnit.MILLISECONDS);
+        publisher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        subscribers.forEach(this::drop);
+    }
+
+    public void subscribe(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many live subscribers, retry later");
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+
+        AsyncContext context = request.startAsync();
+        context.setTimeout(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(context, response.getOutputStream());
+        context.addListener(subscriber);
+        subscriber.offer(frame(": connected\nretry: " + coalesceMillis * 4 + "\n\n"), System.nanoTime());
+        subscribers.add(subscriber);
+        // The container calls onWritePossible once this request thread returns
+        subscriber.out.setWriteListener(subscriber);
+    }
+
+    public void publish(Long sessionId, Integer currentParticipants, Integer maxParticipants) {
+        pending.put(sessionId, new SeatDelta(sessionId, currentParticipants, maxParticipants));
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<SeatDelta> deltas = new ArrayList<>();
+        for (Long sessionId : new ArrayList<>(pending.keySet())) {
+            SeatDelta delta = pending.remove(sessionId);
+            if (delta != null) {
+                deltas.add(delta);
+            }
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(deltas);
+            broadcast(frame("id: " + eventId.incrementAndGet() + "\nevent: seats\ndata: " + json + "\n\n"));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not publish seat updates", e);
+        }
+    }
+
+    // Keeps idle connections open through proxies and finds subscribers that went away
+    private void heartbeat() {
+        broadcast(frame(": ping\n\n"));
+    }
+
+    private void broadcast(byte[] frame) {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(frame, now)) {
+                drop(subscriber);
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Dropping a slow seat stream subscriber");
+            subscriber.close();
+        }
+    }
+
+    private static byte[] frame(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private class Subscriber implements WriteListener, AsyncListener {
+        private final AsyncContext context;
+        private final ServletOutputStream out;
+
+        // frames not yet written, oldest first; guarded by this
+        private final Deque<byte[]> outbox = new ArrayDeque<>();
+
+        // When the connection last refused more data and we started waiting on the client; 0 if not waiting
+        private long blockedSince;
+
+        private boolean unflushed;
+        private boolean listening;
+        private boolean closed;
+
+        Subscriber(AsyncContext context, ServletOutputStream out) {
+            this.context = context;
+            this.out = out;
+        }
+
+        // False when the subscriber is gone or too far behind to keep
+        synchronized boolean offer(byte[] frame, long now) {
+            if (closed || outbox.size() >= maxBacklog
+                    || (blockedSince != 0 && now - blockedSince > sendTimeout.toNanos())) {
+                return false;
+            }
+            outbox.addLast(frame);
+            if (listening) {
+                write();
+            }
+            return !closed;
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            listening = true;
+            blockedSince = 0;
+            write();
+        }
+
+        // Writes only while the connection takes data without blocking; when it stops, the
+        // container calls onWritePossible again once the client has read enough
+        private void write() {
+            try {
+                while (out.isReady()) {
+                    byte[] frame = outbox.pollFirst();
+                    if (frame != null) {
+                        out.write(frame);
+                        unflushed = true;
+                    } else if (unflushed) {
+                        unflushed = false;
+                        out.flush();
+                    } else {
+                        return;
+                    }
+                }
+                if (blockedSince == 0) {
+                    blockedSince = System.nanoTime();
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                close();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            subscribers.remove(this);
+            close();
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            outbox.clear();
+            try {
+                context.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            subscribers.remove(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            subscribers.remove(this);
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            subscribers.remove(this);
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
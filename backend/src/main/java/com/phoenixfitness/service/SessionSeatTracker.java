@@ -0,0 +1,61 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.repository.SessionRepository;
+import com.phoenixfitness.search.SessionCalendarIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Seat counts move through guarded UPDATEs (bookings, cancellations, holds, waitlist promotions)
+// that bypass the entities. Every such write reports the sessions it touched here, and the
+// committed counts are read back into the in-memory schedule and pushed to live subscribers.
+@Component
+public class SessionSeatTracker {
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionCalendarIndex sessionCalendarIndex;
+
+    @Autowired
+    private SessionAvailabilityStream sessionAvailabilityStream;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    public void seatsChanged(Long sessionId) {
+        seatsChanged(List.of(sessionId));
+    }
+
+    public void seatsChanged(Collection<Long> sessionIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(sessionRepository.findSeatCountsByIdIn(sessionIds));
+                }
+            });
+        } else {
+            reload(sessionRepository.findSeatCountsByIdIn(sessionIds));
+        }
+    }
+
+    public void allSeatsChanged() {
+        reload(sessionRepository.findSeatCounts());
+    }
+
+    // Runs after commit, and cached session reads are dropped only once the schedule holds the
+    // committed counts, so a read racing the write cannot cache the old ones
+    private void reload(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            sessionCalendarIndex.updateSeats((Long) row[0], (Integer) row[1]);
+            sessionAvailabilityStream.publish((Long) row[0], (Integer) row[1], (Integer) row[2]);
+        }
+        catalogCache.invalidateNow(CatalogCache.Region.SESSIONS);
+    }
+}
@@ -0,0 +1,221 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.SessionSeriesRequest;
+import com.phoenixfitness.dto.SessionSeriesUpdateRequest;
+import com.phoenixfitness.entity.Session;
+import com.phoenixfitness.repository.SessionRepository;
+import com.phoenixfitness.search.SessionCalendarIndex;
+import com.phoenixfitness.search.SessionSearchIndex;
+import com.phoenixfitness.search.SuggestionIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Recurring classes. A series is expanded up front into ordinary session rows that share a
+// series id, inserted with JDBC batches in one transaction; an edit to the series reaches all of
+// its future occurrences with a single UPDATE.
+@Service
+public class SessionSeriesService {
+
+    private static final String INSERT_SQL = "INSERT INTO sessions (title, description, instructor_name, " +
+            "scheduled_date, duration, max_participants, price, image_url, meet_link, current_participants, status, " +
+            "series_id, deleted, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 'SCHEDULED', ?, false, ?, ?)";
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SessionCalendarIndex sessionCalendarIndex;
+
+    @Autowired
+    private SessionSearchIndex sessionSearchIndex;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private SessionSeatTracker sessionSeatTracker;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Value("${sessions.series.max-occurrences:366}")
+    private int maxOccurrences;
+
+    @Value("${sessions.series.batch-size:500}")
+    private int batchSize;
+
+    public List<Session> createSeries(SessionSeriesRequest request) {
+        List<LocalDateTime> occurrences = expand(request);
+        String seriesId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(occurrences.size());
+        for (LocalDateTime start : occurrences) {
+            rows.add(new Object[]{
+                request.getTitle(), request.getDescription(), request.getInstructorName(), Timestamp.valueOf(start),
+                request.getDuration(), request.getMaxParticipants(), request.getPrice(), request.getImageUrl(),
+                request.getMeetLink(), seriesId, now, now
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(from + batchSize, rows.size())));
+            }
+        });
+
+        List<Session> created = sessionRepository.findBySeriesIdOrderByScheduledDateAsc(seriesId);
+        for (Session session : created) {
+            sessionCalendarIndex.put(session);
+            sessionSearchIndex.index(session);
+            suggestionIndex.putSession(session);
+        }
+        catalogCache.invalidate(CatalogCache.Region.SESSIONS);
+        return created;
+    }
+
+    public int updateSeries(String seriesId, SessionSeriesUpdateRequest request) {
+        // Only the columns the request sets are written; names come from this fixed list
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        assign(assignments, args, "title", request.getTitle());
+        assign(assignments, args, "description", request.getDescription());
+        assign(assignments, args, "instructor_name", request.getInstructorName());
+        assign(assignments, args, "duration", request.getDuration());
+        assign(assignments, args, "price", request.getPrice());
+        assign(assignments, args, "image_url", request.getImageUrl());
+        assign(assignments, args, "meet_link", request.getMeetLink());
+        if (request.getMaxParticipants() != null) {
+            // Capacity is never cut below the seats already taken
+            assignments.add("max_participants = CASE WHEN COALESCE(current_participants, 0) > ? " +
+                    "THEN COALESCE(current_participants, 0) ELSE ? END");
+            args.add(request.getMaxParticipants());
+            args.add(request.getMaxParticipants());
+        }
+        if (assignments.isEmpty()) {
+            throw new RuntimeException("Nothing to update");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        assignments.add("updated_at = ?");
+        args.add(Timestamp.valueOf(now));
+        args.add(seriesId);
+        args.add(Timestamp.valueOf(now));
+
+        String sql = "UPDATE sessions SET " + String.join(", ", assignments) +
+                " WHERE series_id = ? AND scheduled_date >= ? AND deleted = false";
+        Integer updated = transactionTemplate.execute(status -> {
+            Map<Long, Integer> before = request.getMaxParticipants() == null ? Map.of() : capacities(seriesId, now);
+            int rows = jdbcTemplate.update(sql, args.toArray());
+            if (!before.isEmpty()) {
+                // Seats a capacity increase adds go to each session's waitlist before new bookings
+                for (Map.Entry<Long, Integer> after : capacities(seriesId, now).entrySet()) {
+                    Integer previous = before.get(after.getKey());
+                    if (previous != null) {
+                        waitlistService.promoteInto(after.getKey(), after.getValue() - previous);
+                    }
+                }
+            }
+            return rows;
+        });
+        if (updated == 0) {
+            throw new RuntimeException("No upcoming sessions found for series " + seriesId);
+        }
+
+        List<Session> changed = sessionRepository.findBySeriesIdFrom(seriesId, now);
+        for (Session session : changed) {
+            sessionCalendarIndex.put(session);
+            sessionSearchIndex.index(session);
+            suggestionIndex.putSession(session);
+        }
+        // Pushes the new capacities to live schedule subscribers and drops cached session reads
+        sessionSeatTracker.seatsChanged(changed.stream().map(Session::getId).toList());
+        return updated;
+    }
+
+    private List<LocalDateTime> expand(SessionSeriesRequest request) {
+        if (request.getCount() == null && request.getUntil() == null) {
+            throw new RuntimeException("A series needs a count or an until date");
+        }
+        LocalDateTime first = request.getScheduledDate();
+        int interval = request.getInterval() == null ? 1 : request.getInterval();
+        int limit = request.getCount() == null ? maxOccurrences + 1 : request.getCount();
+        LocalDate until = request.getUntil() == null ? LocalDate.MAX : request.getUntil();
+
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        if (request.getFrequency() == SessionSeriesRequest.Frequency.DAILY) {
+            for (LocalDateTime start = first; occurrences.size() < limit && !start.toLocalDate().isAfter(until);
+                 start = start.plusDays(interval)) {
+                occurrences.add(start);
+                checkSize(occurrences);
+            }
+        } else {
+            Set<DayOfWeek> days = new TreeSet<>(request.getByDay() == null || request.getByDay().isEmpty()
+                    ? List.of(first.getDayOfWeek()) : request.getByDay());
+            LocalDate weekStart = first.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            weeks:
+            for (LocalDate week = weekStart; ; week = week.plusWeeks(interval)) {
+                for (DayOfWeek day : days) {
+                    LocalDateTime start = week.plusDays(day.getValue() - 1L).atTime(first.toLocalTime());
+                    if (start.isBefore(first)) {
+                        continue;
+                    }
+                    if (occurrences.size() >= limit || start.toLocalDate().isAfter(until)) {
+                        break weeks;
+                    }
+                    occurrences.add(start);
+                    checkSize(occurrences);
+                }
+            }
+        }
+        if (occurrences.isEmpty()) {
+            throw new RuntimeException("The series has no sessions between its start date and until date");
+        }
+        return occurrences;
+    }
+
+    private Map<Long, Integer> capacities(String seriesId, LocalDateTime from) {
+        Map<Long, Integer> capacities = new HashMap<>();
+        jdbcTemplate.query("SELECT id, max_participants FROM sessions WHERE series_id = ? AND scheduled_date >= ? " +
+                "AND deleted = false", rs -> {
+            capacities.put(rs.getLong(1), rs.getInt(2));
+        }, seriesId, Timestamp.valueOf(from));
+        return capacities;
+    }
+
+    private static void assign(List<String> assignments, List<Object> args, String column, Object value) {
+        if (value != null) {
+            assignments.add(column + " = ?");
+            args.add(value);
+        }
+    }
+
+    private void checkSize(List<LocalDateTime> occurrences) {
+        if (occurrences.size() > maxOccurrences) {
+            throw new RuntimeException("A series cannot have more than " + maxOccurrences + " sessions");
+        }
+    }
+}
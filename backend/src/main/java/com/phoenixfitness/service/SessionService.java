@@ -1,6 +1,8 @@
 package com.phoenixfitness.service;
 
 import com.phoenixfitness.dto.BookingRequest;
+import com.phoenixfitness.dto.CursorPage;
+import com.phoenixfitness.dto.DeletionProgress;
 import com.phoenixfitness.dto.SessionRequest;
 import com.phoenixfitness.entity.Booking;
 import com.phoenixfitness.entity.Session;
@@ -8,11 +10,21 @@ import com.phoenixfitness.entity.User;
 import com.phoenixfitness.repository.BookingRepository;
 import com.phoenixfitness.repository.SessionRepository;
 import com.phoenixfitness.repository.UserRepository;
+import com.phoenixfitness.search.SessionCalendarIndex;
+import com.phoenixfitness.search.SessionSearchIndex;
+import com.phoenixfitness.search.SuggestionIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Service
@@ -27,8 +39,64 @@ public class SessionService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
+    @Autowired
+    private CatalogCache catalogCache;
+
+    @Autowired
+    private SessionCalendarIndex sessionCalendarIndex;
+
+    @Autowired
+    private SessionSearchIndex sessionSearchIndex;
+
+    @Autowired
+    private SessionSeatTracker sessionSeatTracker;
+
+    @Value("${sessions.calendar.max-range-days:62}")
+    private long calendarMaxRangeDays;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshSessionIndexes() {
+        List<Session> sessions = sessionRepository.findAll();
+        suggestionIndex.rebuildSessions(sessions);
+        sessionCalendarIndex.rebuild(sessions);
+        sessionSearchIndex.rebuild(sessions);
+    }
+
     public List<Session> getAllSessions() {
-        return sessionRepository.findAll();
+        return sessionCalendarIndex.all();
+    }
+
+    // Ordered by scheduledDate then id; the cursor carries both so equal dates page correctly
+    public CursorPage<Session> getSessionsPage(String after, Integer limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Session> rows;
+        if (after == null) {
+            rows = sessionRepository.findAllByOrderByScheduledDateAscIdAsc(Limit.of(pageSize + 1));
+        } else {
+            String[] key = CursorPage.decode(after).split("\\|");
+            try {
+                rows = sessionRepository.findPageAfter(LocalDateTime.parse(key[0]), Long.parseLong(key[1]),
+                    Limit.of(pageSize + 1));
+            } catch (DateTimeParseException | NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        return CursorPage.of(rows, pageSize, session -> session.getScheduledDate() + "|" + session.getId());
     }
 
     public Session getSessionById(Long id) {
@@ -36,24 +104,57 @@ public class SessionService {
             .orElseThrow(() -> new RuntimeException("Session not found"));
     }
 
+    // Title and instructor matches from the trigram index, best first, served from the calendar copies
+    public List<Session> searchSessions(String search) {
+        return sessionCalendarIndex.get(sessionSearchIndex.search(search));
+    }
+
     public List<Session> getUpcomingSessions() {
-        return sessionRepository.findUpcomingSessions(LocalDateTime.now());
+        return sessionCalendarIndex.upcoming(LocalDateTime.now());
+    }
+
+    public List<Session> getCalendar(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).toDays() > calendarMaxRangeDays) {
+            throw new RuntimeException("Calendar range cannot exceed " + calendarMaxRangeDays + " days");
+        }
+        return sessionCalendarIndex.between(from, to);
     }
 
     @Transactional
     public Booking bookSession(Long sessionId, BookingRequest request, String userEmail) {
+        // Claim the seat held for this payment order, or take one with a single conditional UPDATE
+        // instead of read-check-write; any failure below rolls either back with the transaction
+        boolean seated = seatHoldService.consume(request.getOrderId(), sessionId, userEmail)
+            || sessionRepository.reserveSeat(sessionId) == 1;
+
         Session session = getSessionById(sessionId);
         User user = userRepository.findByEmail(userEmail)
             .orElseThrow(() -> new RuntimeException("User not found"));
 
-        // Check if session is available
-        if (session.getCurrentParticipants() >= session.getMaxParticipants()) {
-            throw new RuntimeException("Session is fully booked");
+        // Check if user already booked this session; a waitlisted member books by paying for the seat
+        // held for them when one came free, which confirms the waitlisted booking itself
+        Booking existing = bookingRepository.findByUserAndSession(user, session).orElse(null);
+        if (existing != null) {
+            if (!seated || existing.getStatus() != Booking.BookingStatus.WAITLISTED) {
+                throw new RuntimeException("You have already booked this session");
+            }
+            existing.setNotes(request.getNotes() != null ? request.getNotes() : existing.getNotes());
+            existing.setPaymentId(request.getPaymentId());
+            existing.setOrderId(request.getOrderId());
+            existing.setPaymentMethod(request.getPaymentMethod());
+            existing.setStatus(Booking.BookingStatus.CONFIRMED);
+            Booking confirmed = bookingRepository.save(existing);
+            waitlistService.remove(sessionId, confirmed.getId());
+            sessionSeatTracker.seatsChanged(sessionId);
+            return confirmed;
         }
 
-        // Check if user already booked this session
-        if (bookingRepository.findByUserAndSession(user, session).isPresent()) {
-            throw new RuntimeException("You have already booked this session");
+        // A full session is an error unless the member asked to join its waitlist
+        if (!seated && !request.isJoinWaitlist()) {
+            throw new RuntimeException("Session is fully booked");
         }
 
         // Create booking
@@ -65,14 +166,16 @@ public class SessionService {
         booking.setPaymentId(request.getPaymentId());
         booking.setOrderId(request.getOrderId());
         booking.setPaymentMethod(request.getPaymentMethod());
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setStatus(seated ? Booking.BookingStatus.CONFIRMED : Booking.BookingStatus.WAITLISTED);
         booking.setMeetLink(session.getMeetLink());
 
-        // Update session participant count
-        session.setCurrentParticipants(session.getCurrentParticipants() + 1);
-        sessionRepository.save(session);
-
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        if (seated) {
+            sessionSeatTracker.seatsChanged(sessionId);
+        } else {
+            waitlistService.enqueue(saved);
+        }
+        return saved;
     }
 
     public Session createSession(SessionRequest request) {
@@ -88,27 +191,50 @@ public class SessionService {
         session.setMeetLink(request.getMeetLink());
         session.setStatus(Session.SessionStatus.SCHEDULED);
 
-        return sessionRepository.save(session);
+        Session saved = sessionRepository.save(session);
+        suggestionIndex.putSession(saved);
+        sessionCalendarIndex.put(saved);
+        sessionSearchIndex.index(saved);
+        catalogCache.invalidate(CatalogCache.Region.SESSIONS);
+        return saved;
     }
 
     public Session updateSession(Long id, SessionRequest request) {
-        Session session = getSessionById(id);
-
-        session.setTitle(request.getTitle());
-        session.setDescription(request.getDescription());
-        session.setInstructorName(request.getInstructorName());
-        session.setScheduledDate(request.getScheduledDate());
-        session.setDuration(request.getDuration());
-        session.setMaxParticipants(request.getMaxParticipants());
-        session.setPrice(request.getPrice());
-        session.setImageUrl(request.getImageUrl());
-        session.setMeetLink(request.getMeetLink());
-
-        return sessionRepository.save(session);
+        Session saved = transactionTemplate.execute(status -> {
+            Session session = getSessionById(id);
+            int previousCapacity = session.getMaxParticipants() == null ? 0 : session.getMaxParticipants();
+
+            session.setTitle(request.getTitle());
+            session.setDescription(request.getDescription());
+            session.setInstructorName(request.getInstructorName());
+            session.setScheduledDate(request.getScheduledDate());
+            session.setDuration(request.getDuration());
+            session.setMaxParticipants(request.getMaxParticipants());
+            session.setPrice(request.getPrice());
+            session.setImageUrl(request.getImageUrl());
+            session.setMeetLink(request.getMeetLink());
+
+            Session updated = sessionRepository.save(session);
+            // Added seats are offered to the waitlist in queue order before any new booking can take them
+            waitlistService.promoteInto(id, updated.getMaxParticipants() - previousCapacity);
+            return updated;
+        });
+        suggestionIndex.putSession(saved);
+        sessionCalendarIndex.put(saved);
+        sessionSearchIndex.index(saved);
+        // Capacity may have changed; the loaded seat count may be stale, so it is read back
+        sessionSeatTracker.seatsChanged(saved.getId());
+        catalogCache.invalidate(CatalogCache.Region.SESSIONS);
+        return saved;
     }
 
-    public void deleteSession(Long id) {
-        Session session = getSessionById(id);
-        sessionRepository.delete(session);
+    public DeletionProgress deleteSession(Long id) {
+        DeletionProgress progress = bulkDeleteService.deleteSession(id);
+        waitlistService.clear(id);
+        suggestionIndex.remove(SuggestionIndex.Kind.SESSION, id);
+        sessionCalendarIndex.remove(id);
+        sessionSearchIndex.remove(id);
+        catalogCache.invalidate(CatalogCache.Region.SESSIONS);
+        return progress;
     }
 }
\ No newline at end of file
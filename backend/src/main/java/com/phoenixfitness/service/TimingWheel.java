@@ -0,0 +1,73 @@
+package com.phoenixfitness.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+// Hashed timing wheel over abstract ticks: scheduling is O(1) and each tick visits one bucket.
+// An entry due more than one turn out sits out the full turns it carries in `rounds`. Not
+// thread-safe; the owner locks around it and maps wall-clock time to ticks.
+class TimingWheel<T> {
+
+    private final List<List<Entry<T>>> buckets;
+
+    private final int mask;
+
+    // last tick whose bucket has been processed
+    private long currentTick;
+
+    TimingWheel(int size) {
+        // Power-of-two size so the bucket index is a mask
+        int length = Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+        buckets = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        mask = length - 1;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    // Due `ticks` ticks after `now` (at least one); `now` may run ahead of the last processed tick
+    void schedule(T item, long now, long ticks) {
+        long target = Math.max(now, currentTick) + Math.max(1, ticks);
+        // The target bucket is visited once per turn before the target tick comes round
+        long rounds = (target - currentTick - 1) / buckets.size();
+        buckets.get((int) (target & mask)).add(new Entry<>(item, rounds));
+    }
+
+    // Processes every tick up to and including `tick`, so a late caller keeps rounds exact
+    List<T> advanceTo(long tick) {
+        List<T> due = new ArrayList<>();
+        for (long next = currentTick + 1; next <= tick; next++) {
+            Iterator<Entry<T>> bucket = buckets.get((int) (next & mask)).iterator();
+            while (bucket.hasNext()) {
+                Entry<T> entry = bucket.next();
+                if (entry.rounds > 0) {
+                    entry.rounds--;
+                    continue;
+                }
+                bucket.remove();
+                due.add(entry.item);
+            }
+            currentTick = next;
+        }
+        return due;
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private long rounds;
+
+        Entry(T item, long rounds) {
+            this.item = item;
+            this.rounds = rounds;
+        }
+    }
+}
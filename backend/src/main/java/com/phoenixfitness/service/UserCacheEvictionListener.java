@@ -0,0 +1,68 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.entity.User;
+import com.phoenixfitness.security.TokenRevocationService;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Date;
+
+// Drops cached credentials whenever a user row changes (password, role, ...) or is deleted.
+// Stateless JWTs carry the role, so a role change or deletion also revokes the user's tokens.
+// Both wait for commit: evicting at flush would let a concurrent login cache the old row again.
+@Component
+public class UserCacheEvictionListener {
+
+    @Lazy
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @PostLoad
+    public void remember(User user) {
+        user.setLoadedRole(user.getRole());
+    }
+
+    @PostUpdate
+    public void updated(User user) {
+        String email = user.getEmail();
+        boolean roleChanged = user.getLoadedRole() != null && user.getLoadedRole() != user.getRole();
+        user.setLoadedRole(user.getRole());
+        runAfterCommit(() -> {
+            userDetailsService.evict(email);
+            if (roleChanged) {
+                tokenRevocationService.revokeTokensIssuedBefore(email, new Date());
+            }
+        });
+    }
+
+    @PostRemove
+    public void removed(User user) {
+        String email = user.getEmail();
+        runAfterCommit(() -> {
+            userDetailsService.evict(email);
+            tokenRevocationService.revokeTokensIssuedBefore(email, new Date());
+        });
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
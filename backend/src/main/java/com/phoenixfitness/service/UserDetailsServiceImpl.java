@@ -1,8 +1,13 @@
 package com.phoenixfitness.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.phoenixfitness.entity.User;
 import com.phoenixfitness.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,8 +15,11 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -19,18 +27,70 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Value("${auth.user-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${auth.user-cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<String, CachedUser> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        CachedUser cached = cache.get(email, this::loadFromDatabase);
+
+        // Always hand out a fresh UserDetails: Spring Security erases the credentials
+        // of the instance it authenticated, which must not reach the cached copy
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(cached.username)
+                .password(cached.password)
+                .authorities(cached.authorities)
+                .build();
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    public Map<String, Object> getCacheStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    private CachedUser loadFromDatabase(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         List<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .build();
+        return new CachedUser(user.getEmail(), user.getPassword(), authorities);
+    }
+
+    private static class CachedUser {
+        private final String username;
+        private final String password;
+        private final List<GrantedAuthority> authorities;
+
+        private CachedUser(String username, String password, List<GrantedAuthority> authorities) {
+            this.username = username;
+            this.password = password;
+            this.authorities = authorities;
+        }
     }
-}
\ No newline at end of file
+}
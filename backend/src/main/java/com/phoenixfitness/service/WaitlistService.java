@@ -0,0 +1,170 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.entity.Booking;
+import com.phoenixfitness.repository.BookingRepository;
+import com.phoenixfitness.repository.SessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-session FIFO of WAITLISTED booking ids. The bookings table is the source of truth; the
+// queues are rebuilt from it at startup and only ever change once the matching write commits
+// (or, for promotions, are put back if it rolls back). A promotion does not confirm anything: it
+// takes the freed seat and offers it to the member as a seat hold, which they confirm by paying
+// like any other booking. An offer that runs out cancels the waitlisted booking.
+@Service
+public class WaitlistService {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    // Lazy: seat holds hand expired seats back through this service
+    @Lazy
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    private final Map<Long, Deque<Long>> queues = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<Long, Deque<Long>> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : bookingRepository.findWaitlistedIds()) {
+            loaded.computeIfAbsent((Long) row[0], id -> new ArrayDeque<>()).addLast((Long) row[1]);
+        }
+        queues.clear();
+        queues.putAll(loaded);
+    }
+
+    // Queues a freshly saved WAITLISTED booking once its transaction commits and sets its position
+    public void enqueue(Booking booking) {
+        Long sessionId = booking.getSession().getId();
+        runAfterCommit(() -> {
+            Deque<Long> queue = queues.computeIfAbsent(sessionId, id -> new ArrayDeque<>());
+            synchronized (queue) {
+                queue.addLast(booking.getId());
+                booking.setWaitlistPosition(queue.size());
+            }
+        });
+    }
+
+    public void remove(Long sessionId, Long bookingId) {
+        runAfterCommit(() -> {
+            Deque<Long> queue = queues.get(sessionId);
+            if (queue != null) {
+                synchronized (queue) {
+                    queue.remove(bookingId);
+                }
+            }
+        });
+    }
+
+    public void clear(Long sessionId) {
+        queues.remove(sessionId);
+    }
+
+    public Integer getPosition(Long sessionId, Long bookingId) {
+        Deque<Long> queue = queues.get(sessionId);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            int position = 1;
+            for (Long id : queue) {
+                if (id.equals(bookingId)) {
+                    return position;
+                }
+                position++;
+            }
+        }
+        return null;
+    }
+
+    // Offers a free seat to the head of the queue: the seat is taken now and held for the member
+    // once the transaction commits. Must run inside the transaction that freed the seat: the
+    // guarded seat UPDATE keeps the session row locked until commit, so a concurrent booking
+    // cannot take the seat in between. Returns the offered booking, still WAITLISTED.
+    public Booking promoteNext(Long sessionId) {
+        Deque<Long> queue = queues.get(sessionId);
+        if (queue == null) {
+            return null;
+        }
+        while (true) {
+            Long bookingId;
+            synchronized (queue) {
+                bookingId = queue.pollFirst();
+            }
+            if (bookingId == null) {
+                return null;
+            }
+            Booking booking = bookingRepository.findById(bookingId).orElse(null);
+            if (booking == null || booking.getStatus() != Booking.BookingStatus.WAITLISTED) {
+                continue; // cancelled or purged since it was queued
+            }
+            if (sessionRepository.reserveSeat(sessionId) == 0) {
+                synchronized (queue) {
+                    queue.addFirst(bookingId);
+                }
+                return null;
+            }
+            String userEmail = booking.getUser().getEmail();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        seatHoldService.offer(sessionId, userEmail, bookingId);
+                    } else {
+                        synchronized (queue) {
+                            queue.addFirst(bookingId);
+                        }
+                    }
+                }
+            });
+            return booking;
+        }
+    }
+
+    // Offers up to `seats` newly free seats from the queue; same transaction rules as promoteNext
+    public int promoteInto(Long sessionId, int seats) {
+        int promoted = 0;
+        while (promoted < seats && promoteNext(sessionId) != null) {
+            promoted++;
+        }
+        return promoted;
+    }
+
+    // Cancels waitlisted bookings whose seat offer ran out; runs in the transaction that frees the seats
+    public void lapse(Collection<Long> bookingIds) {
+        for (Booking booking : bookingRepository.findAllById(bookingIds)) {
+            if (booking.getStatus() == Booking.BookingStatus.WAITLISTED) {
+                booking.setStatus(Booking.BookingStatus.CANCELLED);
+                bookingRepository.save(booking);
+            }
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
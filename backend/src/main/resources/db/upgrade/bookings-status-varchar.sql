@@ -0,0 +1,4 @@
+-- Run once on MySQL schemas created before the waitlist. ddl-auto=update does not change
+-- existing columns, and the old ENUM rejects WAITLISTED, so bookings on a full session fail
+-- with a truncation error until bookings.status is widened to VARCHAR.
+ALTER TABLE bookings MODIFY COLUMN status VARCHAR(20) NOT NULL;
@@ -0,0 +1,129 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductFacetIndexTest {
+
+    private static ProductFacetIndex index(Product... products) {
+        ProductFacetIndex index = new ProductFacetIndex();
+        ReflectionTestUtils.setField(index, "priceBucketBounds", new double[]{1000, 2500});
+        index.rebuild(List.of(products));
+        return index;
+    }
+
+    private static Product product(long id, Long categoryId, String brand, int price, double rating, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        if (categoryId != null) {
+            Category category = new Category();
+            category.setId(categoryId);
+            product.setCategory(category);
+        }
+        product.setBrand(brand);
+        product.setPrice(BigDecimal.valueOf(price));
+        product.setRating(rating);
+        product.setStock(stock);
+        return product;
+    }
+
+    private static ProductFacetIndex.FacetCounts all(ProductFacetIndex index) {
+        return index.query(null, null, null, null, null, null, false);
+    }
+
+    @Test
+    void countsFacetsOverTheWholeCatalog() {
+        ProductFacetIndex index = index(
+                product(1, 1L, "Flex", 500, 4.0, 3),
+                product(2, 1L, "flex ", 1000, 3.0, 0),
+                product(3, 2L, "Iron", 2500, 5.0, 1),
+                product(4, null, null, 9000, 0, 2));
+
+        ProductFacetIndex.FacetCounts counts = all(index);
+        assertEquals(List.of(1L, 2L, 3L, 4L), counts.getProductIds());
+        assertEquals(Map.of(1L, 2, 2L, 1), counts.getCategories());
+        assertEquals(Map.of("Flex", 2, "Iron", 1), counts.getBrands());
+        assertEquals(List.of("0-1000", "1000-2500", "2500+"), List.copyOf(counts.getPriceRanges().keySet()));
+        assertEquals(List.of(1, 1, 2), List.copyOf(counts.getPriceRanges().values()));
+    }
+
+    @Test
+    void appliesEveryFilter() {
+        ProductFacetIndex index = index(
+                product(1, 1L, "Flex", 500, 4.0, 3),
+                product(2, 1L, "Flex", 1000, 3.0, 0),
+                product(3, 2L, "Iron", 2500, 5.0, 1),
+                product(4, null, null, 9000, 0, 2));
+
+        assertEquals(List.of(1L, 2L), index.query(null, 1L, null, null, null, null, false).getProductIds());
+        assertEquals(List.of(1L, 2L), index.query(null, null, "FLEX", null, null, null, false).getProductIds());
+        assertEquals(List.of(2L, 3L), index.query(null, null, null, BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(2500), null, false).getProductIds());
+        assertEquals(List.of(1L, 3L), index.query(null, null, null, null, null, 4.0, false).getProductIds());
+        assertEquals(List.of(1L, 3L, 4L), index.query(null, null, null, null, null, null, true).getProductIds());
+        assertEquals(List.of(3L), index.query(Set.of(2L, 3L), null, null, null, null, null, true).getProductIds());
+    }
+
+    @Test
+    void unknownBrandMatchesNothing() {
+        ProductFacetIndex index = index(product(1, 1L, "Flex", 500, 4.0, 3));
+
+        ProductFacetIndex.FacetCounts counts = index.query(null, null, "Nope", null, null, null, false);
+        assertTrue(counts.getProductIds().isEmpty());
+        assertEquals(List.of(0, 0, 0), List.copyOf(counts.getPriceRanges().values()));
+    }
+
+    @Test
+    void removeKeepsTheMovedRowAddressable() {
+        ProductFacetIndex index = index(
+                product(1, 1L, "Flex", 500, 4.0, 3),
+                product(2, 1L, "Flex", 1000, 3.0, 0),
+                product(3, 2L, "Iron", 2500, 5.0, 1));
+
+        index.remove(1L);
+        index.updateStock(3L, 0);
+        index.upsert(product(2, 2L, "Iron", 1200, 3.0, 4));
+
+        assertEquals(List.of(2L), index.query(null, null, null, null, null, null, true).getProductIds());
+        assertEquals(Map.of("Iron", 2), all(index).getBrands());
+        assertEquals(2L, index.getCategoryId(2L));
+        assertNull(index.getCategoryId(1L));
+    }
+
+    @Test
+    void sortsMatchesByNamePriceOrRating() {
+        ProductFacetIndex index = index(
+                named(product(1, 1L, "Flex", 900, 4.0, 3), "band"),
+                named(product(2, 1L, "Flex", 500, 4.5, 0), "Anvil"),
+                named(product(3, 2L, "Iron", 500, 3.0, 1), "Cable"));
+
+        assertEquals(List.of(2L, 1L, 3L), index.sort(List.of(1L, 2L, 3L), "name"));
+        assertEquals(List.of(2L, 3L, 1L), index.sort(List.of(3L, 1L, 2L), "price"));
+        assertEquals(List.of(2L, 1L), index.sort(List.of(1L, 2L, 9L), "rating"));
+    }
+
+    private static Product named(Product product, String name) {
+        product.setName(name);
+        return product;
+    }
+
+    @Test
+    void upsertAppendsNewProducts() {
+        ProductFacetIndex index = index();
+        index.upsert(product(7, null, "Flex", 100, 0, 1));
+
+        assertEquals(List.of(7L), all(index).getProductIds());
+        assertNull(index.getCategoryId(7L));
+    }
+}
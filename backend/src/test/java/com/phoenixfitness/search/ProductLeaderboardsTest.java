@@ -0,0 +1,156 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.dto.ProductSummary;
+import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.entity.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductLeaderboardsTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static ProductLeaderboards leaderboards(int size) {
+        ProductLeaderboards leaderboards = new ProductLeaderboards();
+        ReflectionTestUtils.setField(leaderboards, "size", size);
+        return leaderboards;
+    }
+
+    private static Product product(long id, Double rating, int reviews, int discount, int stock, long categoryId,
+                                   int ageDays) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setRating(rating);
+        product.setReviewCount(reviews);
+        product.setDiscount(discount);
+        product.setStock(stock);
+        product.setCategory(category);
+        product.setCreatedAt(EPOCH.minusDays(ageDays));
+        return product;
+    }
+
+    private static List<Long> ids(List<ProductSummary> products) {
+        List<Long> ids = new ArrayList<>();
+        for (ProductSummary product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    void ordersEachBoard() {
+        ProductLeaderboards leaderboards = leaderboards(3);
+        leaderboards.rebuild(List.of(
+                product(1, 4.5, 10, 0, 5, 1, 3),
+                product(2, 4.5, 30, 20, 0, 1, 1),
+                product(3, null, 0, 10, 2, 1, 0),
+                product(4, 3.0, 2, 0, 9, 2, 2)));
+
+        assertEquals(List.of(2L, 1L, 4L), ids(leaderboards.top(ProductLeaderboards.Board.TOP_RATED, null, 10)));
+        assertEquals(List.of(2L, 3L), ids(leaderboards.top(ProductLeaderboards.Board.MOST_DISCOUNTED, null, 10)));
+        assertEquals(List.of(3L, 2L), ids(leaderboards.top(ProductLeaderboards.Board.NEWEST, null, 2)));
+        assertEquals(List.of(1L, 3L), ids(leaderboards.top(ProductLeaderboards.Board.IN_STOCK, 1L, 10)));
+        assertEquals(List.of(), ids(leaderboards.top(ProductLeaderboards.Board.IN_STOCK, 9L, 10)));
+    }
+
+    @Test
+    void inStockBoardNeedsACategory() {
+        ProductLeaderboards leaderboards = leaderboards(3);
+        leaderboards.rebuild(List.of());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> leaderboards.top(ProductLeaderboards.Board.IN_STOCK, null, 10));
+    }
+
+    @Test
+    void refillsWhenRemovalsExhaustTheSlack() {
+        ProductLeaderboards leaderboards = leaderboards(2);
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            products.add(product(id, 5.0 - id * 0.1, 0, 0, 1, 1, 0));
+        }
+        leaderboards.rebuild(products);
+
+        for (long id = 1; id <= 8; id++) {
+            leaderboards.remove(id);
+            List<Long> expected = id < 9 ? List.of(id + 1, id + 2) : List.of(10L);
+            assertEquals(expected, ids(leaderboards.top(ProductLeaderboards.Board.TOP_RATED, null, 10)));
+        }
+    }
+
+    @Test
+    void staysEqualToAFullSortUnderRandomWrites() {
+        int size = 3;
+        ProductLeaderboards leaderboards = leaderboards(size);
+        Map<Long, Product> model = new HashMap<>();
+        leaderboards.rebuild(List.of());
+        Random random = new Random(42);
+
+        for (int step = 0; step < 2000; step++) {
+            long id = 1 + random.nextInt(40);
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                Product product = product(id, random.nextInt(4) == 0 ? null : random.nextInt(11) / 2.0,
+                        random.nextInt(5), random.nextInt(3) * 10, random.nextInt(3), 1 + random.nextInt(3),
+                        random.nextInt(30));
+                model.put(id, product);
+                leaderboards.upsert(product);
+            } else if (operation < 8) {
+                model.remove(id);
+                leaderboards.remove(id);
+            } else if (model.containsKey(id)) {
+                int stock = random.nextInt(2);
+                model.get(id).setStock(stock);
+                leaderboards.updateStock(id, stock);
+            }
+
+            assertEquals(expected(model, byRating(), p -> p.getRating() != null, size),
+                    ids(leaderboards.top(ProductLeaderboards.Board.TOP_RATED, null, size)), "step " + step);
+            assertEquals(expected(model, byDiscount(), p -> p.getDiscount() > 0, size),
+                    ids(leaderboards.top(ProductLeaderboards.Board.MOST_DISCOUNTED, null, size)), "step " + step);
+            assertEquals(expected(model, byNewest(), p -> true, size),
+                    ids(leaderboards.top(ProductLeaderboards.Board.NEWEST, null, size)), "step " + step);
+            for (long categoryId = 1; categoryId <= 3; categoryId++) {
+                long category = categoryId;
+                assertEquals(expected(model, byRating(),
+                                p -> p.getStock() > 0 && p.getCategory().getId() == category, size),
+                        ids(leaderboards.top(ProductLeaderboards.Board.IN_STOCK, category, size)), "step " + step);
+            }
+        }
+    }
+
+    private static List<Long> expected(Map<Long, Product> model, Comparator<Product> order,
+                                       Predicate<Product> eligible, int size) {
+        return model.values().stream().filter(eligible).sorted(order).limit(size).map(Product::getId).toList();
+    }
+
+    private static Comparator<Product> byRating() {
+        return Comparator.comparing(Product::getRating, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Product::getReviewCount, Comparator.reverseOrder())
+                .thenComparing(Product::getId);
+    }
+
+    private static Comparator<Product> byDiscount() {
+        return Comparator.comparing(Product::getDiscount, Comparator.reverseOrder()).thenComparing(Product::getId);
+    }
+
+    private static Comparator<Product> byNewest() {
+        return Comparator.comparing(Product::getCreatedAt, Comparator.reverseOrder())
+                .thenComparing(Product::getId, Comparator.reverseOrder());
+    }
+}
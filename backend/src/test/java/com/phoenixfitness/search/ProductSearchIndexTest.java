@@ -0,0 +1,63 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductSearchIndexTest {
+
+    private static Product product(long id, String name, String brand, String description) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setDescription(description);
+        return product;
+    }
+
+    @Test
+    void ranksNameMatchesAboveBrandAndDescription() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(
+                product(1, "Resistance Band", "Flex", "Loop for yoga"),
+                product(2, "Yoga Mat", "Flex", "Non-slip"),
+                product(3, "Dumbbell", "Yoga Co", "Cast iron")));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("yoga"));
+        assertEquals(List.of(2L), index.search("yoga mat"));
+    }
+
+    @Test
+    void topNMatchesTheHeadOfTheFullRanking() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            String name = id % 3 == 0 ? "Protein Bar " + id : "Shaker " + id;
+            String description = id % 2 == 0 ? "pro grade" : "basic";
+            products.add(product(id, name, "Brand" + (id % 7), description));
+        }
+        index.rebuild(products);
+
+        List<Long> all = index.search("pro");
+        List<Long> top = index.search("pro", 20, id -> true);
+        assertEquals(all.subList(0, 20), top);
+
+        List<Long> even = index.search("pro", 1000, id -> id % 2 == 0);
+        assertTrue(even.stream().allMatch(id -> id % 2 == 0));
+        assertEquals(all.stream().filter(id -> id % 2 == 0).toList(), even);
+    }
+
+    @Test
+    void removedProductsStopMatching() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(product(1, "Kettlebell", null, null), product(2, "Kettle Grip", null, null)));
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("kettle", 10, id -> true));
+    }
+}
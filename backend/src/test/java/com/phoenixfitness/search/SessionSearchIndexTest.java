@@ -0,0 +1,73 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.entity.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SessionSearchIndexTest {
+
+    private static SessionSearchIndex index() {
+        SessionSearchIndex index = new SessionSearchIndex();
+        ReflectionTestUtils.setField(index, "minSimilarity", 0.5);
+        ReflectionTestUtils.setField(index, "maxResults", 50);
+        index.rebuild(List.of(
+                session(1, "Zumba Party", "Ana Lopez"),
+                session(2, "HIIT Blast", "Marco Ruiz"),
+                session(3, "Yoga Flow", "Zoe Hart"),
+                session(4, "Power Yoga", "Ana Lopez")));
+        return index;
+    }
+
+    private static Session session(long id, String title, String instructor) {
+        Session session = new Session();
+        session.setId(id);
+        session.setTitle(title);
+        session.setInstructorName(instructor);
+        return session;
+    }
+
+    @Test
+    void findsSubstringsInTitlesAndInstructors() {
+        SessionSearchIndex index = index();
+
+        assertEquals(List.of(3L, 4L), index.search("Yoga"));
+        assertEquals(List.of(3L, 4L), index.search("oga"));
+        assertEquals(List.of(1L, 4L), index.search("lopez"));
+        assertEquals(List.of(1L, 4L), index.search("zumba lopez"));
+        assertEquals(List.of(), index.search("pilates"));
+    }
+
+    @Test
+    void findsMisspelledWords() {
+        SessionSearchIndex index = index();
+
+        assertEquals(List.of(1L), index.search("zunba"));
+        assertEquals(List.of(2L), index.search("hitt"));
+        assertEquals(List.of(2L), index.search("hiit blsat"));
+        assertEquals(List.of(), index.search("hixx"));
+    }
+
+    @Test
+    void shortWordsMatchAsWordPrefixes() {
+        SessionSearchIndex index = index();
+
+        assertEquals(List.of(3L, 4L), index.search("yo"));
+        assertEquals(List.of(3L), index.search("zo"));
+        assertEquals(List.of(), index.search("ga"));
+    }
+
+    @Test
+    void reindexedAndRemovedSessionsStopMatchingOldText() {
+        SessionSearchIndex index = index();
+        index.index(session(1, "Salsa Night", "Ana Lopez"));
+        index.remove(4L);
+
+        assertEquals(List.of(), index.search("zumba"));
+        assertEquals(List.of(1L), index.search("salsa"));
+        assertEquals(List.of(1L), index.search("lopez"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.phoenixfitness.search;
+
+import com.phoenixfitness.dto.Suggestion;
+import com.phoenixfitness.entity.Category;
+import com.phoenixfitness.entity.Product;
+import com.phoenixfitness.entity.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuggestionIndexTest {
+
+    private static SuggestionIndex index(int maxResults) {
+        SuggestionIndex index = new SuggestionIndex();
+        ReflectionTestUtils.setField(index, "maxResults", maxResults);
+        return index;
+    }
+
+    private static Product product(long id, String name, String brand, Double rating) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setRating(rating);
+        return product;
+    }
+
+    private static Category category(long id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static Session session(long id, String title) {
+        Session session = new Session();
+        session.setId(id);
+        session.setTitle(title);
+        return session;
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        List<String> texts = new ArrayList<>();
+        for (Suggestion suggestion : suggestions) {
+            texts.add(suggestion.getText());
+        }
+        return texts;
+    }
+
+    @Test
+    void ranksCategoriesThenBrandsThenProductsAndSessions() {
+        SuggestionIndex index = index(10);
+        index.rebuildProducts(List.of(
+                product(1, "Yoga Mat", "Yogi", 4.5),
+                product(2, "Yoga Block", "Yogi", null)));
+        index.rebuildCategories(List.of(category(1, "Yoga")));
+        index.rebuildSessions(List.of(session(1, "Yoga Flow")));
+
+        List<Suggestion> suggestions = index.suggest("yog", 10);
+        assertEquals(List.of("Yoga", "Yogi", "Yoga Mat", "Yoga Flow", "Yoga Block"), texts(suggestions));
+        assertEquals("BRAND", suggestions.get(1).getType());
+        assertEquals(List.of("Yoga", "Yogi"), texts(index.suggest("YOG", 2)));
+    }
+
+    @Test
+    void completesFromTheStartOfEveryWord() {
+        SuggestionIndex index = index(10);
+        index.putProduct(product(1, "Speed Jump Rope", "Flex", null));
+
+        assertEquals(List.of("Speed Jump Rope"), texts(index.suggest("rop", 10)));
+        assertEquals(List.of("Speed Jump Rope"), texts(index.suggest("jump r", 10)));
+        assertTrue(index.suggest("ump", 10).isEmpty());
+    }
+
+    @Test
+    void updatesAndRemovalsUnlinkOldPhrases() {
+        SuggestionIndex index = index(10);
+        index.putProduct(product(1, "Kettlebell", "Iron", null));
+        index.putProduct(product(2, "Kettle Grip", "Iron", null));
+
+        index.putProduct(product(1, "Dumbbell", "Iron", null));
+        assertEquals(List.of("Kettle Grip"), texts(index.suggest("kett", 10)));
+        assertEquals(List.of("Dumbbell"), texts(index.suggest("dumb", 10)));
+
+        index.remove(SuggestionIndex.Kind.PRODUCT, 1L);
+        assertTrue(index.suggest("dumb", 10).isEmpty());
+        assertEquals(List.of("Iron"), texts(index.suggest("iro", 10)));
+
+        // The brand stays while any product still carries it
+        index.remove(SuggestionIndex.Kind.PRODUCT, 2L);
+        assertTrue(index.suggest("iro", 10).isEmpty());
+        assertTrue(index.suggest("k", 10).isEmpty());
+    }
+
+    @Test
+    void keepsOnlyTheBestCompletionsPerPrefix() {
+        SuggestionIndex index = index(3);
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 8; id++) {
+            products.add(product(id, "Protein " + id, null, id * 0.5));
+        }
+        index.rebuildProducts(products);
+
+        assertEquals(List.of("Protein 8", "Protein 7", "Protein 6"), texts(index.suggest("prot", 10)));
+
+        index.remove(SuggestionIndex.Kind.PRODUCT, 8L);
+        assertEquals(List.of("Protein 7", "Protein 6", "Protein 5"), texts(index.suggest("prot", 10)));
+    }
+
+    @Test
+    void rebuildingOneKindLeavesTheOthers() {
+        SuggestionIndex index = index(10);
+        index.rebuildCategories(List.of(category(1, "Strength")));
+        index.rebuildSessions(List.of(session(1, "Strength Circuit")));
+
+        index.rebuildSessions(List.of());
+        assertEquals(List.of("Strength"), texts(index.suggest("str", 10)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.phoenixfitness.security;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyFilterTest {
+
+    private static final byte[] BODY = "{\"sessionId\":7}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void cachedBodyCanBeReadMoreThanOnce() throws IOException {
+        IdempotencyFilter.CachedBodyRequest request =
+                new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), BODY);
+
+        assertEquals("{\"sessionId\":7}", new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals("{\"sessionId\":7}", request.getReader().readLine());
+    }
+
+    @Test
+    void readListenerGetsTheWholeBodyThenAllDataRead() {
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), BODY)
+                .getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        StringBuilder calls = new StringBuilder();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.append("data;");
+                byte[] buffer = new byte[4];
+                while (in.isReady() && !in.isFinished()) {
+                    int read = in.read(buffer);
+                    received.write(buffer, 0, read);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.append("done;");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.append("error;");
+            }
+        });
+
+        assertEquals("data;done;", calls.toString());
+        assertEquals("{\"sessionId\":7}", received.toString(StandardCharsets.UTF_8));
+        assertTrue(in.isFinished());
+    }
+
+    @Test
+    void listenerFailureIsReportedToOnError() {
+        ServletInputStream in = new IdempotencyFilter.CachedBodyRequest(new MockHttpServletRequest(), BODY)
+                .getInputStream();
+        StringBuilder calls = new StringBuilder();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("consumer failed");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.append("done;");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.append("error:").append(t.getMessage());
+            }
+        });
+
+        assertEquals("error:consumer failed", calls.toString());
+    }
+}
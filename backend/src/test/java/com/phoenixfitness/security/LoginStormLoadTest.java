@@ -0,0 +1,117 @@
+package com.phoenixfitness.security;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A login storm against a small request pool: hashing is capped at one thread and eight queued
+// logins, so the rest are turned away with 503 and catalog reads keep getting request threads.
+// Clients back off briefly after a 503, as the frontend does, so the storm measures thread
+// starvation rather than a loopback flood. Run with -Pload-test.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loginstorm;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "server.tomcat.threads.max=24",
+        "auth.password-hashing.threads=1",
+        "auth.password-hashing.queue-capacity=8"
+})
+@ActiveProfiles("test")
+@Tag("load")
+class LoginStormLoadTest {
+
+    private static final int STORM_CLIENTS = 64;
+    private static final Duration STORM_LENGTH = Duration.ofSeconds(4);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void catalogReadsStayFastDuringALoginStorm() throws Exception {
+        assertEquals(200, post("/api/auth/register",
+                "{\"name\":\"Storm\",\"email\":\"storm@example.com\",\"password\":\"password\"}").statusCode());
+        String login = "{\"email\":\"storm@example.com\",\"password\":\"password\"}";
+        for (int i = 0; i < 50; i++) {
+            get("/api/products");
+        }
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        long stopAt = System.nanoTime() + STORM_LENGTH.toNanos();
+        ExecutorService storm = Executors.newFixedThreadPool(STORM_CLIENTS);
+        for (int i = 0; i < STORM_CLIENTS; i++) {
+            storm.submit(() -> {
+                while (System.nanoTime() < stopAt) {
+                    int status = post("/api/auth/login", login).statusCode();
+                    (status == 200 ? succeeded : rejected).incrementAndGet();
+                    if (status == 503) {
+                        Thread.sleep(50);
+                    }
+                }
+                return null;
+            });
+        }
+
+        Future<List<Long>> reads = Executors.newSingleThreadExecutor().submit(() -> {
+            List<Long> latencies = new ArrayList<>();
+            while (System.nanoTime() < stopAt) {
+                long start = System.nanoTime();
+                assertEquals(200, get("/api/products").statusCode());
+                latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+            return latencies;
+        });
+
+        List<Long> latencies = reads.get(STORM_LENGTH.toSeconds() + 30, TimeUnit.SECONDS);
+        storm.shutdown();
+        assertTrue(storm.awaitTermination(30, TimeUnit.SECONDS));
+
+        Collections.sort(latencies);
+        long p95 = latencies.get((int) (latencies.size() * 0.95));
+        System.out.printf("login storm: %d logins ok, %d rejected, %d catalog reads, p95 %d ms, hashing %s%n",
+                succeeded.get(), rejected.get(), latencies.size(), p95, passwordHashingExecutor.getStats());
+
+        assertTrue(succeeded.get() > 0);
+        assertTrue(rejected.get() > 0, "the hashing queue should have pushed back");
+        assertTrue(p95 < 1000, "catalog p95 was " + p95 + " ms during the storm");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,40 @@
+package com.phoenixfitness.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationServiceTest {
+
+    private TokenRevocationService service() {
+        TokenRevocationService service = new TokenRevocationService();
+        ReflectionTestUtils.setField(service, "expiration", 86_400_000L);
+        return service;
+    }
+
+    @Test
+    void tokenIssuedBeforeLogoutIsRevokedButOneIssuedAfterInTheSameSecondIsNot() {
+        TokenRevocationService service = service();
+        long logout = System.currentTimeMillis() / 1000 * 1000 + 400;
+        service.revokeTokensIssuedBefore("member@x.com", new Date(logout));
+
+        assertTrue(service.isRevoked("member@x.com", logout - 300));
+        assertFalse(service.isRevoked("member@x.com", logout));
+        assertFalse(service.isRevoked("member@x.com", logout + 100));
+        assertFalse(service.isRevoked("other@x.com", logout - 300));
+    }
+
+    @Test
+    void laterLogoutMovesTheCutoffForward() {
+        TokenRevocationService service = service();
+        long now = System.currentTimeMillis();
+        service.revokeTokensIssuedBefore("member@x.com", new Date(now));
+        service.revokeTokensIssuedBefore("member@x.com", new Date(now - 5_000));
+
+        assertTrue(service.isRevoked("member@x.com", now - 1));
+    }
+}
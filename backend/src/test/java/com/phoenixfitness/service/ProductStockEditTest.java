@@ -0,0 +1,68 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.CategoryRequest;
+import com.phoenixfitness.dto.ProductRequest;
+import com.phoenixfitness.entity.Product;
+import com.phoenixfitness.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductStockEditTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void staleAdminEditCannotOverwriteReservedStock() {
+        CategoryRequest categoryRequest = new CategoryRequest();
+        categoryRequest.setName("Stock Edit Gear");
+        Long categoryId = categoryService.createCategory(categoryRequest).getId();
+
+        ProductRequest request = new ProductRequest();
+        request.setName("Foam Roller");
+        request.setPrice(new BigDecimal("499.00"));
+        request.setStock(10);
+        request.setCategoryId(categoryId);
+        Long productId = productService.createProduct(request).getId();
+
+        // A checkout reserves three while the admin form still shows 10
+        transactionTemplate.executeWithoutResult(status -> productRepository.reserveStock(productId, 3));
+
+        request.setName("Foam Roller Pro");
+        request.setExpectedStock(10);
+        request.setStock(25);
+        assertThrows(RuntimeException.class, () -> productService.updateProduct(productId, request));
+        assertEquals(7, productRepository.findById(productId).orElseThrow().getStock());
+
+        // Edits that leave the stock field alone still save, without touching the reservation
+        request.setStock(10);
+        productService.updateProduct(productId, request);
+        Product renamed = productRepository.findById(productId).orElseThrow();
+        assertEquals("Foam Roller Pro", renamed.getName());
+        assertEquals(7, renamed.getStock());
+
+        request.setExpectedStock(7);
+        request.setStock(25);
+        productService.updateProduct(productId, request);
+        assertEquals(25, productRepository.findById(productId).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,122 @@
+package com.phoenixfitness.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seatstream;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sessions.stream.coalesce-ms=20",
+        "sessions.stream.heartbeat-ms=60000",
+        "sessions.stream.max-backlog=4",
+        "sessions.stream.send-timeout=1s"
+})
+@ActiveProfiles("test")
+class SessionAvailabilityStreamTest {
+
+    // More stalled clients than the old sender pool had threads
+    private static final int STALLED_CLIENTS = 8;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SessionAvailabilityStream stream;
+
+    @Test
+    void clientsThatNeverReadDoNotDelayTheOthers() throws Exception {
+        List<Socket> stalled = new ArrayList<>();
+        for (int i = 0; i < STALLED_CLIENTS; i++) {
+            Socket socket = new Socket();
+            socket.setReceiveBufferSize(1024);
+            socket.connect(new InetSocketAddress("localhost", port));
+            request(socket);
+            stalled.add(socket);
+        }
+
+        Socket reader = new Socket("localhost", port);
+        request(reader);
+        AtomicLong lastEventId = new AtomicLong();
+        Thread readerThread = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(
+                    new InputStreamReader(reader.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.startsWith("id: ")) {
+                        lastEventId.set(Long.parseLong(line.substring(4).trim()));
+                    }
+                }
+            } catch (Exception e) {
+                // socket closed at the end of the test
+            }
+        });
+        readerThread.setDaemon(true);
+        readerThread.start();
+        awaitSubscribers(STALLED_CLIENTS + 1);
+
+        // Events of a few hundred KB each fill the stalled clients' socket buffers within a few flushes
+        long published = 0;
+        long deadline = System.currentTimeMillis() + 3000;
+        long session = 0;
+        while (System.currentTimeMillis() < deadline) {
+            for (int i = 0; i < 3000; i++) {
+                stream.publish(++session, 1, 10);
+            }
+            Thread.sleep(40);
+            published = eventCount();
+        }
+
+        long lagDeadline = System.currentTimeMillis() + 2000;
+        while (lastEventId.get() < published && System.currentTimeMillis() < lagDeadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(lastEventId.get() >= published,
+                "reader saw event " + lastEventId.get() + " of " + published);
+        assertEquals(1, subscribers().size(), "stalled clients should have been dropped");
+
+        reader.close();
+        for (Socket socket : stalled) {
+            socket.close();
+        }
+    }
+
+    private void request(Socket socket) throws Exception {
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/sessions/stream HTTP/1.0\r\nHost: localhost\r\nAccept: text/event-stream\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (subscribers().size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(count, subscribers().size());
+    }
+
+    private Set<?> subscribers() {
+        return (Set<?>) ReflectionTestUtils.getField(stream, "subscribers");
+    }
+
+    private long eventCount() {
+        return ((AtomicLong) ReflectionTestUtils.getField(stream, "eventId")).get();
+    }
+}
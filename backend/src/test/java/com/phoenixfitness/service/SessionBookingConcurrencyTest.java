@@ -0,0 +1,93 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.BookingRequest;
+import com.phoenixfitness.entity.Booking;
+import com.phoenixfitness.entity.Session;
+import com.phoenixfitness.entity.User;
+import com.phoenixfitness.repository.BookingRepository;
+import com.phoenixfitness.repository.SessionRepository;
+import com.phoenixfitness.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionBookingConcurrencyTest {
+
+    private static final int CAPACITY = 5;
+    private static final int MEMBERS = 40;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentBookingsNeverOversellASession() throws Exception {
+        Session session = new Session();
+        session.setTitle("Stress Test Spin");
+        session.setInstructorName("Load Tester");
+        session.setScheduledDate(LocalDateTime.now().plusDays(1));
+        session.setDuration(45);
+        session.setMaxParticipants(CAPACITY);
+        session.setPrice(new BigDecimal("100.00"));
+        Long sessionId = sessionRepository.save(session).getId();
+
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            User user = new User();
+            user.setName("Member " + i);
+            user.setEmail("stress" + i + "@example.com");
+            user.setPassword("password");
+            emails.add(userRepository.save(user).getEmail());
+        }
+
+        BookingRequest request = new BookingRequest();
+        request.setJoinWaitlist(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(MEMBERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Booking>> results = new ArrayList<>();
+        for (String email : emails) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return sessionService.bookSession(sessionId, request, email);
+            }));
+        }
+        start.countDown();
+        for (Future<Booking> result : results) {
+            result.get();
+        }
+        pool.shutdown();
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getSession().getId().equals(sessionId))
+                .toList();
+        long confirmed = bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.CONFIRMED).count();
+        long waitlisted = bookings.stream().filter(b -> b.getStatus() == Booking.BookingStatus.WAITLISTED).count();
+
+        assertEquals(CAPACITY, confirmed);
+        assertEquals(MEMBERS - CAPACITY, waitlisted);
+        assertEquals(CAPACITY, sessionRepository.findById(sessionId).orElseThrow().getCurrentParticipants());
+    }
+}
@@ -0,0 +1,59 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.SessionSeriesRequest;
+import com.phoenixfitness.repository.SessionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionSeriesServiceTest {
+
+    @Autowired
+    private SessionSeriesService sessionSeriesService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Test
+    void rejectsASeriesWithNoOccurrences() {
+        LocalDateTime monday = LocalDateTime.now().plusWeeks(1)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        long sessionsBefore = sessionRepository.count();
+
+        SessionSeriesRequest daily = request(monday, SessionSeriesRequest.Frequency.DAILY);
+        daily.setUntil(monday.toLocalDate().minusDays(1));
+        assertThrows(RuntimeException.class, () -> sessionSeriesService.createSeries(daily));
+
+        // Monday start, Friday only, but the series ends on Wednesday
+        SessionSeriesRequest weekly = request(monday, SessionSeriesRequest.Frequency.WEEKLY);
+        weekly.setByDay(List.of(DayOfWeek.FRIDAY));
+        weekly.setUntil(monday.toLocalDate().plusDays(2));
+        assertThrows(RuntimeException.class, () -> sessionSeriesService.createSeries(weekly));
+
+        assertEquals(sessionsBefore, sessionRepository.count());
+    }
+
+    private static SessionSeriesRequest request(LocalDateTime first, SessionSeriesRequest.Frequency frequency) {
+        SessionSeriesRequest request = new SessionSeriesRequest();
+        request.setTitle("Empty Series Yoga");
+        request.setInstructorName("Series Tester");
+        request.setScheduledDate(first);
+        request.setDuration(60);
+        request.setMaxParticipants(10);
+        request.setPrice(new BigDecimal("200.00"));
+        request.setFrequency(frequency);
+        return request;
+    }
+}
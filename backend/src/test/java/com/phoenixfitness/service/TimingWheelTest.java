@@ -0,0 +1,98 @@
+package com.phoenixfitness.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    @Test
+    void sizeIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new TimingWheel<String>(5).size());
+        assertEquals(8, new TimingWheel<String>(8).size());
+        assertEquals(2, new TimingWheel<String>(0).size());
+    }
+
+    @Test
+    void entriesExpireOnTheirTickAcrossWholeTurns() {
+        TimingWheel<String> wheel = new TimingWheel<>(8);
+        wheel.schedule("one", 0, 1);
+        wheel.schedule("turn", 0, 8);
+        wheel.schedule("turn-plus-one", 0, 9);
+        wheel.schedule("two-turns", 0, 16);
+        wheel.schedule("far", 0, 21);
+
+        Map<String, Long> expiredAt = new HashMap<>();
+        for (long tick = 1; tick <= 30; tick++) {
+            for (String item : wheel.advanceTo(tick)) {
+                expiredAt.put(item, tick);
+            }
+        }
+        assertEquals(Map.of("one", 1L, "turn", 8L, "turn-plus-one", 9L, "two-turns", 16L, "far", 21L), expiredAt);
+    }
+
+    @Test
+    void lateAdvanceWalksEveryMissedTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        wheel.schedule("a", 0, 3);
+        wheel.schedule("b", 0, 6);
+        wheel.schedule("c", 0, 11);
+
+        assertEquals(List.of(), wheel.advanceTo(2));
+        assertEquals(List.of("a", "b"), sorted(wheel.advanceTo(10)));
+        assertEquals(10, wheel.getCurrentTick());
+        assertEquals(List.of("c"), wheel.advanceTo(11));
+    }
+
+    @Test
+    void schedulingAheadOfTheLastProcessedTickCountsFromNow() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        wheel.advanceTo(3);
+        // The owner's clock is at tick 10 but ticks 4..10 have not been processed yet
+        wheel.schedule("late", 10, 5);
+
+        assertEquals(List.of(), wheel.advanceTo(14));
+        assertEquals(List.of("late"), wheel.advanceTo(15));
+    }
+
+    @Test
+    void nonPositiveDelaysExpireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(4);
+        wheel.schedule("past", 0, -3);
+        wheel.schedule("now", 0, 0);
+
+        assertEquals(List.of("now", "past"), sorted(wheel.advanceTo(1)));
+    }
+
+    @Test
+    void randomScheduleExpiresEveryEntryExactlyOnTime() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(16);
+        Random random = new Random(42);
+        Map<Integer, Long> dueAt = new HashMap<>();
+        int next = 0;
+        for (long tick = 1; tick <= 2_000; tick++) {
+            for (int i = 0; i < 3; i++) {
+                long delay = 1 + random.nextInt(100);
+                wheel.schedule(next, tick - 1, delay);
+                dueAt.put(next++, tick - 1 + delay);
+            }
+            for (Integer item : wheel.advanceTo(tick)) {
+                assertEquals(dueAt.remove(item), tick, "entry " + item);
+            }
+        }
+        assertTrue(dueAt.values().stream().allMatch(due -> due > 2_000));
+    }
+
+    private static List<String> sorted(List<String> items) {
+        List<String> copy = new ArrayList<>(items);
+        copy.sort(null);
+        return copy;
+    }
+}
@@ -0,0 +1,135 @@
+package com.phoenixfitness.service;
+
+import com.phoenixfitness.dto.BookingRequest;
+import com.phoenixfitness.dto.CreateOrderRequest;
+import com.phoenixfitness.entity.Booking;
+import com.phoenixfitness.entity.Session;
+import com.phoenixfitness.entity.User;
+import com.phoenixfitness.repository.BookingRepository;
+import com.phoenixfitness.repository.SessionRepository;
+import com.phoenixfitness.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:waitlistoffer;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sessions.waitlist.offer-ttl=1s",
+        "sessions.hold.tick-ms=100"
+})
+@ActiveProfiles("test")
+class WaitlistOfferTest {
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void freedSeatIsOfferedAndConfirmedOnlyOncePaidFor() {
+        Long sessionId = session("Offer Spin");
+        String seated = member("offer-seated@example.com");
+        String waiting = member("offer-waiting@example.com");
+
+        Booking first = sessionService.bookSession(sessionId, new BookingRequest(), seated);
+        assertThrows(RuntimeException.class, () -> sessionService.bookSession(sessionId, new BookingRequest(), waiting));
+
+        BookingRequest join = new BookingRequest();
+        join.setJoinWaitlist(true);
+        Booking queued = sessionService.bookSession(sessionId, join, waiting);
+        assertEquals(Booking.BookingStatus.WAITLISTED, queued.getStatus());
+
+        // The freed seat is held for the waitlisted member, not given away unpaid
+        bookingService.updateBookingStatus(first.getId(), "CANCELLED");
+        assertEquals(Booking.BookingStatus.WAITLISTED, status(queued.getId()));
+        assertEquals(1, sessionRepository.findById(sessionId).orElseThrow().getCurrentParticipants());
+        String offeredOrder = bookingService.getWaitlistOffer(queued.getId(), waiting).getOrderId();
+
+        // Checkout returns the held seat, and booking with it confirms the waitlisted booking
+        assertEquals(offeredOrder, paymentService.createOrder(orderFor(sessionId), waiting).get("orderId"));
+        BookingRequest pay = new BookingRequest();
+        pay.setOrderId(offeredOrder);
+        pay.setPaymentId("pay_offer");
+        Booking confirmed = sessionService.bookSession(sessionId, pay, waiting);
+        assertEquals(queued.getId(), confirmed.getId());
+        assertEquals(Booking.BookingStatus.CONFIRMED, status(queued.getId()));
+        assertEquals(1, sessionRepository.findById(sessionId).orElseThrow().getCurrentParticipants());
+    }
+
+    @Test
+    void unpaidOfferLapsesToTheNextMember() throws Exception {
+        Long sessionId = session("Offer Row");
+        String seated = member("lapse-seated@example.com");
+        String slow = member("lapse-slow@example.com");
+        String next = member("lapse-next@example.com");
+
+        Booking first = sessionService.bookSession(sessionId, new BookingRequest(), seated);
+        BookingRequest join = new BookingRequest();
+        join.setJoinWaitlist(true);
+        Booking slowBooking = sessionService.bookSession(sessionId, join, slow);
+        Booking nextBooking = sessionService.bookSession(sessionId, join, next);
+
+        bookingService.updateBookingStatus(first.getId(), "CANCELLED");
+        bookingService.getWaitlistOffer(slowBooking.getId(), slow);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (status(slowBooking.getId()) != Booking.BookingStatus.CANCELLED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(Booking.BookingStatus.CANCELLED, status(slowBooking.getId()));
+        assertEquals(Booking.BookingStatus.WAITLISTED, status(nextBooking.getId()));
+        assertEquals(sessionId, bookingService.getWaitlistOffer(nextBooking.getId(), next).getSessionId());
+        assertEquals(1, sessionRepository.findById(sessionId).orElseThrow().getCurrentParticipants());
+    }
+
+    private Long session(String title) {
+        Session session = new Session();
+        session.setTitle(title);
+        session.setInstructorName("Waitlist Tester");
+        session.setScheduledDate(LocalDateTime.now().plusDays(1));
+        session.setDuration(45);
+        session.setMaxParticipants(1);
+        session.setPrice(new BigDecimal("100.00"));
+        return sessionRepository.save(session).getId();
+    }
+
+    private String member(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("password");
+        return userRepository.save(user).getEmail();
+    }
+
+    private Booking.BookingStatus status(Long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getStatus();
+    }
+
+    private static CreateOrderRequest orderFor(Long sessionId) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setSessionId(sessionId);
+        request.setAmount(new BigDecimal("100.00"));
+        return request;
+    }
+}
@@ -68,7 +68,7 @@ const AdminProducts = () => {
       price: formData.price ? parseFloat(formData.price) : null,
       categoryId: formData.categoryId ? Number(formData.categoryId) : null,
       imageUrl: formData.imageUrl.trim() || null,
-      stock: formData.stock ? parseInt(formData.stock, 10) : null,
+      stock: formData.stock !== '' ? parseInt(formData.stock, 10) : null,
       brand: formData.brand.trim() || null,
       material: formData.material.trim() || null,
       warranty: formData.warranty.trim() || null,
@@ -81,7 +81,8 @@ const AdminProducts = () => {
 
     try {
       if (editingProduct) {
-        await productsAPI.update(editingProduct.id, payload);
+        // Lets the server reject the stock change if checkouts moved it while the form was open
+        await productsAPI.update(editingProduct.id, { ...payload, expectedStock: editingProduct.stock ?? 0 });
         toast.success('Product updated');
       } else {
         await productsAPI.create(payload);
@@ -102,15 +103,23 @@ const AdminProducts = () => {
     });
   };
 
-  const handleEdit = (product) => {
+  const handleEdit = async (listItem) => {
+    // The list only carries card fields; load the full product for the form
+    let product = listItem;
+    try {
+      const response = await productsAPI.getById(listItem.id);
+      product = response.data.data || listItem;
+    } catch {
+      toast.error('Failed to load product details');
+    }
     setEditingProduct(product);
     setFormData({
       name: product.name,
-      description: product.description,
+      description: product.description || '',
       price: product.price,
-      categoryId: product.categoryId,
+      categoryId: product.category?.id ?? listItem.categoryId,
       imageUrl: product.imageUrl || '',
-      stock: product.stock || '',
+      stock: product.stock ?? '',
       brand: product.brand || '',
       material: product.material || '',
       warranty: product.warranty || ''
@@ -200,7 +209,7 @@ const AdminProducts = () => {
             <tr key={p.id}>
               <td><img src={p.imageUrl || 'https://via.placeholder.com/50'} alt={p.name} width={50} /></td>
               <td>{p.name}</td>
-              <td>{p.category?.name || 'Uncategorized'}</td>
+              <td>{p.categoryName || 'Uncategorized'}</td>
               <td>₹{p.price}</td>
               <td>{p.stock || 'N/A'}</td>
               <td>